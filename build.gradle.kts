@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.0.6"
     id("io.spring.dependency-management") version "1.1.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "vstu.isd"
@@ -12,6 +13,20 @@ repositories {
     mavenCentral()
 }
 
+sourceSets {
+    create("loadTest") {
+        compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+        runtimeClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+    }
+}
+
+val loadTestImplementation: Configuration by configurations.getting {
+    extendsFrom(configurations.testImplementation.get())
+}
+val loadTestRuntimeOnly: Configuration by configurations.getting {
+    extendsFrom(configurations.testRuntimeOnly.get())
+}
+
 dependencies {
     /**
      * Spring boot starters
@@ -22,6 +37,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.cloud:spring-cloud-starter-openfeign:4.0.2")
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
     implementation("org.springframework.retry:spring-retry:2.0.2")
@@ -41,8 +57,14 @@ dependencies {
      */
     implementation("org.liquibase:liquibase-core")
     implementation("redis.clients:jedis:4.3.2")
+    implementation("com.github.ben-manes.caffeine:caffeine:3.1.6")
     runtimeOnly("org.postgresql:postgresql")
 
+    /**
+     * Metrics
+     */
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
     /**
      * Utils & Logging
      */
@@ -70,6 +92,11 @@ dependencies {
     testImplementation("org.assertj:assertj-core:3.24.2")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
+
+    /**
+     * Load tests
+     */
+    loadTestImplementation("org.hdrhistogram:HdrHistogram:2.1.12")
 }
 
 tasks.withType<Test> {
@@ -78,6 +105,27 @@ tasks.withType<Test> {
 
 val test by tasks.getting(Test::class) { testLogging.showStandardStreams = true }
 
+val loadTest by tasks.registering(Test::class) {
+    description = "Runs the load-test suite against the in-process stack."
+    group = "verification"
+    testClassesDirs = sourceSets["loadTest"].output.classesDirs
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    testLogging.showStandardStreams = true
+    outputs.upToDateWhen { false }
+
+    val reportDir = layout.buildDirectory.dir("reports/load-test").get().asFile
+    systemProperty("loadtest.report-dir", reportDir.absolutePath)
+    listOf("mix", "duration", "warm-up", "threads", "seed-notes").forEach { name ->
+        providers.gradleProperty("loadtest.$name").orNull?.let { systemProperty("loadtest.$name", it) }
+    }
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
 tasks.bootJar {
     archiveFileName.set("service.jar")
 }
@@ -0,0 +1,81 @@
+package vstu.isd.notebin.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import vstu.isd.notebin.generator.Base62;
+import vstu.isd.notebin.generator.Base62HashGenerator;
+import vstu.isd.notebin.repository.UniqueRangeRepository;
+import vstu.isd.notebin.repository.result.UniqueBlock;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Base62Benchmark {
+
+    @Param({"2000"})
+    private int amount;
+
+    private final char[] buffer = new char[Base62.MAX_LENGTH];
+    private long num;
+    private String encoded;
+    private Base62HashGenerator hashGenerator;
+
+    @Setup
+    public void setUp() {
+        num = 803407143574L;
+        encoded = Base62.encode(num);
+        hashGenerator = new Base62HashGenerator(new FixedRangeRepository(amount));
+    }
+
+    @Benchmark
+    public String encode() {
+        return Base62.encode(num);
+    }
+
+    @Benchmark
+    public int encodeIntoBuffer() {
+        return Base62.encode(num, buffer);
+    }
+
+    @Benchmark
+    public long decode() {
+        return Base62.decode(encoded);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void generateHashes(Blackhole blackhole) {
+        hashGenerator.generateHashes(amount).forEach(blackhole::consume);
+    }
+
+    /**
+     * Returns the same precomputed range on every call, so only the generator itself is measured.
+     */
+    private static class FixedRangeRepository implements UniqueRangeRepository {
+
+        private final List<Long> range;
+        private final UniqueBlock block;
+
+        FixedRangeRepository(int size) {
+            range = LongStream.rangeClosed(1, size).boxed().toList();
+            block = new UniqueBlock(1, size);
+        }
+
+        @Override
+        public List<Long> getNextUniqueRange(int size) {
+            return range;
+        }
+
+        @Override
+        public UniqueBlock getNextUniqueBlock() {
+            return block;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package vstu.isd.notebin.benchmark;
+
+import vstu.isd.notebin.dto.CreateNoteRequestDto;
+import vstu.isd.notebin.dto.UpdateNoteRequestDto;
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.Note;
+import vstu.isd.notebin.entity.NoteCacheable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Typical notes of the read/create paths shared by benchmarks.
+ */
+final class BenchmarkNotes {
+
+    static final String TITLE = "Benchmark note title";
+    static final String CONTENT = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(32);
+
+    private BenchmarkNotes() {
+    }
+
+    static Note note() {
+        return Note.builder()
+                .id(1L)
+                .title(TITLE)
+                .content(CONTENT)
+                .createdAt(LocalDateTime.now())
+                .url("E8xCUx4")
+                .expirationType(ExpirationType.BURN_BY_PERIOD)
+                .expirationPeriod(Duration.ofHours(1))
+                .expirationFrom(LocalDateTime.now())
+                .isAvailable(true)
+                .userId(1L)
+                .build();
+    }
+
+    static NoteCacheable noteCacheable() {
+        Note note = note();
+        return NoteCacheable.builder()
+                .id(note.getId())
+                .title(note.getTitle())
+                .content(note.getContent())
+                .createdAt(note.getCreatedAt())
+                .url(note.getUrl())
+                .expirationType(note.getExpirationType())
+                .expirationPeriod(note.getExpirationPeriod())
+                .expirationFrom(note.getExpirationFrom())
+                .isAvailable(note.isAvailable())
+                .userId(note.getUserId())
+                .build();
+    }
+
+    static CreateNoteRequestDto createNoteRequest() {
+        return CreateNoteRequestDto.builder()
+                .title(TITLE)
+                .content(CONTENT)
+                .expirationType(ExpirationType.BURN_BY_PERIOD)
+                .expirationPeriod(Duration.ofHours(1))
+                .userId(1L)
+                .build();
+    }
+
+    static UpdateNoteRequestDto updateNoteRequest() {
+        return UpdateNoteRequestDto.builder()
+                .title("Updated " + TITLE)
+                .content(CONTENT)
+                .expirationType(ExpirationType.NEVER)
+                .isAvailable(true)
+                .userId(1L)
+                .build();
+    }
+}
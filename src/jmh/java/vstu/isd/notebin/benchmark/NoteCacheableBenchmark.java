@@ -0,0 +1,60 @@
+package vstu.isd.notebin.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import vstu.isd.notebin.cache.util.BinaryNoteSerializer;
+import vstu.isd.notebin.config.RedisConfig;
+import vstu.isd.notebin.entity.NoteCacheable;
+import vstu.isd.notebin.util.ContentCompressor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code BaseNote.equals} and serialization of {@link NoteCacheable} by the value serializers of {@link RedisConfig}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteCacheableBenchmark {
+
+    @Param({"JSON", "BINARY", "BINARY_COMPRESSED"})
+    private String format;
+
+    private RedisSerializer<NoteCacheable> serializer;
+    private NoteCacheable note;
+    private NoteCacheable equalNote;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        Jackson2JsonRedisSerializer<NoteCacheable> jsonSerializer =
+                new Jackson2JsonRedisSerializer<>(new RedisConfig().objectMapper(), NoteCacheable.class);
+        serializer = switch (format) {
+            case "BINARY" -> new BinaryNoteSerializer(jsonSerializer, new ContentCompressor(Integer.MAX_VALUE));
+            case "BINARY_COMPRESSED" -> new BinaryNoteSerializer(jsonSerializer, new ContentCompressor(1024));
+            default -> jsonSerializer;
+        };
+        note = BenchmarkNotes.noteCacheable();
+        equalNote = note.toBuilder().build();
+        serialized = serializer.serialize(note);
+    }
+
+    @Benchmark
+    public boolean equalsNote() {
+        return note.equals(equalNote);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(note);
+    }
+
+    @Benchmark
+    public NoteCacheable deserialize() {
+        return serializer.deserialize(serialized);
+    }
+}
@@ -0,0 +1,51 @@
+package vstu.isd.notebin.benchmark;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import vstu.isd.notebin.dto.NoteDto;
+import vstu.isd.notebin.dto.UpdateNoteRequestDto;
+import vstu.isd.notebin.entity.Note;
+import vstu.isd.notebin.entity.NoteCacheable;
+import vstu.isd.notebin.mapper.NoteMapper;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteMapperBenchmark {
+
+    private final NoteMapper noteMapper = Mappers.getMapper(NoteMapper.class);
+
+    private Note note;
+    private NoteCacheable noteCacheable;
+    private UpdateNoteRequestDto updateRequest;
+    private LocalDateTime expirationFrom;
+
+    @Setup
+    public void setUp() {
+        note = BenchmarkNotes.note();
+        noteCacheable = BenchmarkNotes.noteCacheable();
+        updateRequest = BenchmarkNotes.updateNoteRequest();
+        expirationFrom = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public NoteCacheable toCacheable() {
+        return noteMapper.toCacheable(note);
+    }
+
+    @Benchmark
+    public NoteDto toDto() {
+        return noteMapper.toDto(noteCacheable);
+    }
+
+    @Benchmark
+    public Note fromUpdateRequest() {
+        return noteMapper.fromUpdateRequest(note, updateRequest, expirationFrom);
+    }
+}
@@ -0,0 +1,50 @@
+package vstu.isd.notebin.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import vstu.isd.notebin.dto.CreateNoteRequestDto;
+import vstu.isd.notebin.exception.GroupValidationException;
+import vstu.isd.notebin.validation.NoteValidator;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteValidatorBenchmark {
+
+    /**
+     * Same as {@code spring.validation-rule} in application.yaml
+     */
+    private static final String TITLE_REGEXP = "^[a-zA-Z0-9][a-zA-Z0-9 .,!?;:()\\[\\]{}\\\"']{0,127}$";
+    private static final int TITLE_LENGTH = 128;
+    private static final int CONTENT_LENGTH = 16384;
+    private static final int ANALYTICS_MAX_URLS = 100;
+
+    private NoteValidator noteValidator;
+    private CreateNoteRequestDto validRequest;
+    private CreateNoteRequestDto invalidRequest;
+
+    @Setup
+    public void setUp() {
+        noteValidator = new NoteValidator(TITLE_REGEXP, TITLE_LENGTH, CONTENT_LENGTH, ANALYTICS_MAX_URLS);
+        validRequest = BenchmarkNotes.createNoteRequest();
+        invalidRequest = validRequest.toBuilder()
+                .title(" " + BenchmarkNotes.TITLE)
+                .expirationPeriod(null)
+                .build();
+    }
+
+    @Benchmark
+    public Optional<GroupValidationException> validateCreateNoteRequestDto() {
+        return noteValidator.validateCreateNoteRequestDto(validRequest);
+    }
+
+    @Benchmark
+    public Optional<GroupValidationException> validateInvalidCreateNoteRequestDto() {
+        return noteValidator.validateCreateNoteRequestDto(invalidRequest);
+    }
+}
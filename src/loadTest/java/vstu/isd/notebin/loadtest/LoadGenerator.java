@@ -0,0 +1,214 @@
+package vstu.isd.notebin.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Closed-loop load generator: each worker issues the next request of the {@link WorkloadMix}
+ * as soon as the previous one is completed.
+ */
+public class LoadGenerator {
+
+    private static final int KNOWN_URLS_CAPACITY = 10_000;
+    private static final int ANALYTICS_URLS_PER_REQUEST = 20;
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final String accessToken;
+    private final ObjectMapper objectMapper;
+    private final LoadReport report;
+
+    /**
+     * Ring of urls of {@code NEVER} expiring notes owned by the token's user
+     */
+    private final AtomicReferenceArray<String> knownUrls;
+    private final AtomicLong knownUrlsCount;
+    private final LinkedBlockingDeque<String> burnAfterReadUrls;
+
+    public LoadGenerator(URI baseUri, String accessToken, ObjectMapper objectMapper) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUri = baseUri;
+        this.accessToken = accessToken;
+        this.objectMapper = objectMapper;
+        this.report = new LoadReport();
+        this.knownUrls = new AtomicReferenceArray<>(KNOWN_URLS_CAPACITY);
+        this.knownUrlsCount = new AtomicLong(0);
+        this.burnAfterReadUrls = new LinkedBlockingDeque<>();
+    }
+
+    public LoadReport report() {
+        return report;
+    }
+
+    /**
+     * Creates notes to be read and updated, their latencies are reported too.
+     */
+    public void seed(int notes) {
+        for (int i = 0; i < notes; i++) {
+            execute(Operation.CREATE_NOTE);
+        }
+    }
+
+    public void run(WorkloadMix mix, int threads, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        execute(mix.next());
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void execute(Operation operation) {
+        HttpRequest request = buildRequest(operation);
+        if (request == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        int status;
+        String body;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            body = response.body();
+        } catch (IOException e) {
+            status = -1;
+            body = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        report.record(operation, System.nanoTime() - start, status);
+
+        onResponse(operation, request, status, body);
+    }
+
+    private HttpRequest buildRequest(Operation operation) {
+        return switch (operation) {
+            case GET_NOTE -> randomKnownUrl()
+                    .map(url -> request("/api/v1/note/" + url).GET().build())
+                    .orElse(null);
+            case GET_BURN_AFTER_READ_NOTE -> {
+                String url = burnAfterReadUrls.peekLast();
+                yield url == null ? null : request("/api/v1/note/" + url).GET().build();
+            }
+            case CREATE_NOTE -> authorized(request("/api/v1/note"))
+                    .POST(json(Map.of(
+                            "title", "Load test note",
+                            "content", "Note created by the load test",
+                            "expirationType", "NEVER"
+                    )))
+                    .build();
+            case CREATE_BURN_AFTER_READ_NOTE -> request("/api/v1/note")
+                    .POST(json(Map.of(
+                            "title", "Load test burn after read note",
+                            "content", "Note created by the load test",
+                            "expirationType", "BURN_AFTER_READ"
+                    )))
+                    .build();
+            case UPDATE_NOTE -> randomKnownUrl()
+                    .map(url -> authorized(request("/api/v1/note/" + url))
+                            .PUT(json(Map.of("content", "Content updated at " + System.nanoTime())))
+                            .build())
+                    .orElse(null);
+            case VIEW_ANALYTICS -> request("/api/v1/analytics/view-notes")
+                    .POST(json(Map.of(
+                            "urls",
+                            IntStream.range(0, ANALYTICS_URLS_PER_REQUEST)
+                                    .mapToObj(i -> randomKnownUrl().orElse("unknown"))
+                                    .collect(Collectors.toSet())
+                    )))
+                    .build();
+        };
+    }
+
+    private void onResponse(Operation operation, HttpRequest request, int status, String body) {
+        switch (operation) {
+            case CREATE_NOTE -> urlOf(status, body).ifPresent(this::addKnownUrl);
+            case CREATE_BURN_AFTER_READ_NOTE -> urlOf(status, body).ifPresent(burnAfterReadUrls::addLast);
+            case GET_BURN_AFTER_READ_NOTE -> {
+                String path = request.uri().getPath();
+                burnAfterReadUrls.removeLastOccurrence(path.substring(path.lastIndexOf('/') + 1));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private Optional<String> urlOf(int status, String body) {
+        if (status != 200 || body == null) {
+            return Optional.empty();
+        }
+        try {
+            JsonNode url = objectMapper.readTree(body).get("url");
+            return Optional.ofNullable(url).map(JsonNode::asText);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void addKnownUrl(String url) {
+        knownUrls.set((int) (knownUrlsCount.getAndIncrement() % KNOWN_URLS_CAPACITY), url);
+    }
+
+    private Optional<String> randomKnownUrl() {
+        int count = (int) Math.min(knownUrlsCount.get(), KNOWN_URLS_CAPACITY);
+        if (count == 0) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(knownUrls.get(ThreadLocalRandom.current().nextInt(count)));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder request) {
+        return request.header("Authorization", "Bearer " + accessToken);
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
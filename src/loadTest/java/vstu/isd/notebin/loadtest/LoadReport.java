@@ -0,0 +1,72 @@
+package vstu.isd.notebin.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and response statuses per endpoint.
+ */
+public class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, LongAdder>> statuses = new ConcurrentHashMap<>();
+
+    public void record(Operation operation, long latencyNanos, int status) {
+        String endpoint = operation.endpoint();
+
+        latencies.computeIfAbsent(endpoint, e -> new ConcurrentHistogram(HIGHEST_TRACKABLE_LATENCY_MICROS, 3))
+                .recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_LATENCY_MICROS));
+        statuses.computeIfAbsent(endpoint, e -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, s -> new LongAdder())
+                .increment();
+    }
+
+    public void reset() {
+        latencies.clear();
+        statuses.clear();
+    }
+
+    public long totalCount() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    public void print(PrintStream out, WorkloadMix mix, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+
+        out.printf("Load test %s, %d requests in %.1f s%n", mix, totalCount(), seconds);
+        out.printf("%-38s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(latencies).entrySet()) {
+            Histogram histogram = entry.getValue();
+
+            out.printf("%-38s %9d %9.1f", entry.getKey(), histogram.getTotalCount(), histogram.getTotalCount() / seconds);
+            for (double percentile : PERCENTILES) {
+                out.printf(" %9.2f", histogram.getValueAtPercentile(percentile) / 1000.0);
+            }
+            out.printf(" %9.2f  %s%n", histogram.getMaxValue() / 1000.0, new TreeMap<>(statuses.get(entry.getKey())));
+        }
+    }
+
+    /**
+     * Prints full latency distributions in HdrHistogram format, in milliseconds.
+     */
+    public void printDistributions(PrintStream out) {
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(latencies).entrySet()) {
+            out.println(entry.getKey());
+            entry.getValue().outputPercentileDistribution(out, 1000.0);
+            out.println();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package vstu.isd.notebin.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.keys.HmacKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ContextConfiguration;
+import vstu.isd.notebin.api.auth.AuthApi;
+import vstu.isd.notebin.config.TestContainersConfig;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the {@link WorkloadMix} selected by {@code loadtest.mix} against the application started on a random port
+ * with Postgres and Redis in containers. {@link AuthApi} accepts any token.
+ * <p>
+ * Run with {@code ./gradlew loadTest -Ploadtest.mix=READ_HEAVY -Ploadtest.duration=PT30S -Ploadtest.threads=16}.
+ * </p>
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "logging.level.root=warn",
+                "logging.level.org.springframework.security=warn",
+                "logging.level.org.springframework.web=warn",
+                "logging.level.org.hibernate.sql=warn",
+                "logging.level.org.hibernate.engine.jdbc.batch.internal.BatchingBatch=warn"
+        }
+)
+@ContextConfiguration(initializers = TestContainersConfig.class)
+public class NoteLoadTest {
+
+    private static final long USER_ID = 1L;
+
+    private final WorkloadMix mix = WorkloadMix.valueOf(
+            System.getProperty("loadtest.mix", WorkloadMix.READ_HEAVY.name()).toUpperCase(Locale.ROOT)
+    );
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private final Duration warmUp = Duration.parse(System.getProperty("loadtest.warm-up", "PT10S"));
+    private final int threads = Integer.parseInt(System.getProperty("loadtest.threads", "16"));
+    private final int seedNotes = Integer.parseInt(System.getProperty("loadtest.seed-notes", "500"));
+    private final Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "build/reports/load-test"));
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private AuthApi authApi;
+
+    @BeforeEach
+    void setUp() {
+        when(authApi.verifyAccessToken(any())).thenReturn(true);
+    }
+
+    @Test
+    void runWorkloadMix() throws Exception {
+        LoadGenerator generator = new LoadGenerator(
+                URI.create("http://localhost:" + port),
+                accessToken(),
+                new ObjectMapper()
+        );
+
+        generator.seed(seedNotes);
+        generator.run(mix, threads, warmUp);
+        generator.report().reset();
+
+        long start = System.nanoTime();
+        generator.run(mix, threads, duration);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        LoadReport report = generator.report();
+        report.print(System.out, mix, elapsed);
+        writeReport(report, elapsed);
+
+        assertTrue(report.totalCount() > 0, "No requests were completed");
+    }
+
+    private void writeReport(LoadReport report, Duration elapsed) throws IOException {
+        Files.createDirectories(reportDir);
+        Path file = reportDir.resolve(mix.name().toLowerCase(Locale.ROOT) + ".txt");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8)) {
+            report.print(out, mix, elapsed);
+            out.println();
+            report.printDistributions(out);
+        }
+    }
+
+    /**
+     * Token with the claims required by {@code JwtAuthFilter}, its signature isn't verified locally.
+     */
+    private String accessToken() throws Exception {
+        JwtClaims claims = new JwtClaims();
+        claims.setSubject("load-test");
+        claims.setIssuedAtToNow();
+        claims.setExpirationTimeMinutesInTheFuture(60);
+        claims.setClaim("user_id", USER_ID);
+
+        JsonWebSignature jws = new JsonWebSignature();
+        jws.setPayload(claims.toJson());
+        jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.HMAC_SHA256);
+        jws.setKey(new HmacKey("load-test-signing-key-of-at-least-256-bits".getBytes(StandardCharsets.UTF_8)));
+
+        return jws.getCompactSerialization();
+    }
+}
@@ -0,0 +1,23 @@
+package vstu.isd.notebin.loadtest;
+
+/**
+ * Requests issued by {@link LoadGenerator}, latencies are reported by {@link #endpoint}.
+ */
+public enum Operation {
+    GET_NOTE("GET /api/v1/note/{url}"),
+    GET_BURN_AFTER_READ_NOTE("GET /api/v1/note/{url}"),
+    CREATE_NOTE("POST /api/v1/note"),
+    CREATE_BURN_AFTER_READ_NOTE("POST /api/v1/note"),
+    UPDATE_NOTE("PUT /api/v1/note/{url}"),
+    VIEW_ANALYTICS("POST /api/v1/analytics/view-notes");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,56 @@
+package vstu.isd.notebin.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted mixes of {@link Operation}s, selected by the {@code loadtest.mix} property.
+ */
+public enum WorkloadMix {
+    /**
+     * Reading of long-living notes with occasional writes
+     */
+    READ_HEAVY(Map.of(
+            Operation.GET_NOTE, 90,
+            Operation.CREATE_NOTE, 4,
+            Operation.UPDATE_NOTE, 3,
+            Operation.VIEW_ANALYTICS, 3
+    )),
+    /**
+     * Concurrent reading of the latest burn-after-read notes, all readers but one race for a burnt note
+     */
+    BURN_AFTER_READ_STORM(Map.of(
+            Operation.CREATE_BURN_AFTER_READ_NOTE, 20,
+            Operation.GET_BURN_AFTER_READ_NOTE, 80
+    )),
+    CREATION_BURST(Map.of(
+            Operation.CREATE_NOTE, 95,
+            Operation.GET_NOTE, 5
+    ));
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    WorkloadMix(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        operations = ordered.keySet().toArray(Operation[]::new);
+        cumulativeWeights = new int[operations.length];
+
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public Operation next() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+}
@@ -0,0 +1,111 @@
+package vstu.isd.notebin.api.auth;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.VerificationJwkSelector;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwx.JsonWebStructure;
+import org.jose4j.keys.resolvers.VerificationKeyResolver;
+import org.jose4j.lang.JoseException;
+import org.jose4j.lang.UnresolvableKeyException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code JwksKeyResolver} resolves keys for verification of access tokens from the JWKS of the auth service.
+ * <p>
+ * The JWKS is loaded from {@code JWKS_LOCATION}, which is any Spring resource location
+ * ({@code http:}, {@code file:}, {@code classpath:}), and is refreshed every {@code spring.auth.jwks.refresh-interval}.
+ * An unknown {@code kid} triggers a refresh on {@code refreshExecutor}, at most once per {@code MIN_REFRESH_INTERVAL}.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.auth.verification-mode", havingValue = "LOCAL")
+public class JwksKeyResolver implements VerificationKeyResolver {
+
+    private final ResourceLoader resourceLoader;
+    private final String JWKS_LOCATION;
+    private final Duration MIN_REFRESH_INTERVAL;
+    private final ExecutorService refreshExecutor;
+
+    private volatile List<JsonWebKey> keys;
+    private final AtomicLong lastRefreshNanos;
+
+    JwksKeyResolver(
+            ResourceLoader resourceLoader,
+            @Qualifier("jwksLocation") String jwksLocation,
+            @Qualifier("jwksMinRefreshInterval") Duration minRefreshInterval,
+            @Qualifier("jwksRefreshExecutor") ExecutorService refreshExecutor
+    ) {
+        this.resourceLoader = resourceLoader;
+        JWKS_LOCATION = jwksLocation;
+        MIN_REFRESH_INTERVAL = minRefreshInterval;
+        this.refreshExecutor = refreshExecutor;
+        this.keys = List.of();
+        this.lastRefreshNanos = new AtomicLong(System.nanoTime() - minRefreshInterval.toNanos());
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * Reloads the JWKS, the current keys are kept if loading fails.
+     */
+    @Scheduled(
+            fixedDelayString = "${spring.auth.jwks.refresh-interval}",
+            initialDelayString = "${spring.auth.jwks.refresh-interval}"
+    )
+    public void refresh() {
+        lastRefreshNanos.set(System.nanoTime());
+        try (InputStream jwks = resourceLoader.getResource(JWKS_LOCATION).getInputStream()) {
+            keys = List.copyOf(
+                    new JsonWebKeySet(new String(jwks.readAllBytes(), StandardCharsets.UTF_8)).getJsonWebKeys()
+            );
+            log.debug("Loaded {} keys from JWKS {}", keys.size(), JWKS_LOCATION);
+        } catch (IOException | JoseException e) {
+            log.error("Failed to load JWKS from {}", JWKS_LOCATION, e);
+        }
+    }
+
+    @Override
+    public Key resolveKey(JsonWebSignature jws, List<JsonWebStructure> nestingContext) throws UnresolvableKeyException {
+        JsonWebKey key;
+        try {
+            key = new VerificationJwkSelector().select(jws, keys);
+        } catch (JoseException e) {
+            throw new UnresolvableKeyException("Failed to select key for kid " + jws.getKeyIdHeaderValue(), e);
+        }
+
+        if (key == null) {
+            refreshAsyncIfAllowed();
+            throw new UnresolvableKeyException("Unknown kid " + jws.getKeyIdHeaderValue());
+        }
+
+        return key.getKey();
+    }
+
+    private void refreshAsyncIfAllowed() {
+        long last = lastRefreshNanos.get();
+        long now = System.nanoTime();
+        if (now - last >= MIN_REFRESH_INTERVAL.toNanos() && lastRefreshNanos.compareAndSet(last, now)) {
+            refreshExecutor.execute(this::refresh);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package vstu.isd.notebin.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+import vstu.isd.notebin.cache.util.NoteFields;
+import vstu.isd.notebin.cache.util.NotePatch;
+import vstu.isd.notebin.entity.NoteCacheable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * {@code HashNoteStore} keeps every note as a Redis hash of its {@link NoteFields} by the key {@code note:<url>}.
+ * <p>
+ * Patches set only the changed fields and previews read only the metadata, so the content of a note
+ * is neither rewritten by availability flips nor transferred for previews.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "spring.note.cache-layout", havingValue = "HASH")
+public class HashNoteStore implements NoteStore {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PATCH_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/note-hash-patch.lua"), List.class);
+    private static final RedisScript<Long> SAVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/note-hash-save.lua"), Long.class);
+    private static final RedisScript<Long> SAVE_ALL_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/note-hash-save-all.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> GET_AND_EXPIRE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/note-hash-get-and-expire.lua"), List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> GET_AND_DELETE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/note-hash-get-and-delete.lua"), List.class);
+
+    private static final String KEY_PREFIX = "note:";
+    private static final String APPLIED = "APPLIED";
+    private static final String NOT_FOUND = "NOT_FOUND";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    HashNoteStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public NoteCacheable get(String url) {
+        return NoteFields.fromHash(redisTemplate.<String, String>opsForHash().entries(key(url)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<NoteCacheable> getAll(List<String> urls) {
+        List<Object> hashes = redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                urls.forEach(url -> ops.opsForHash().entries(key(url)));
+                return null;
+            }
+        });
+
+        return hashes.stream()
+                .map(hash -> NoteFields.fromHash((Map<String, String>) hash))
+                .toList();
+    }
+
+    @Override
+    public NoteCacheable getAndExpire(String url, Duration ttl) {
+        List<?> entries = redisTemplate.execute(
+                GET_AND_EXPIRE_SCRIPT,
+                List.of(key(url)),
+                String.valueOf(ttl.toMillis())
+        );
+        return entries != null ? NoteFields.fromHashEntries(entries) : null;
+    }
+
+    @Override
+    public NoteCacheable getPreviewAndExpire(String url, Duration ttl) {
+        List<?> values = redisTemplate.execute(
+                GET_AND_EXPIRE_SCRIPT,
+                List.of(key(url)),
+                Stream.concat(Stream.of(String.valueOf(ttl.toMillis())), NoteFields.METADATA.stream()).toArray()
+        );
+        return values != null ? NoteFields.fromHashValues(NoteFields.METADATA, values) : null;
+    }
+
+    @Override
+    public boolean saveIfAbsent(NoteCacheable note, Duration ttl) {
+        Long saved = redisTemplate.execute(SAVE_SCRIPT, List.of(key(note.getUrl())), saveArgs(note, ttl).toArray());
+        return saved != null && saved == 1;
+    }
+
+    /**
+     * All notes are saved by one call of a script, which is sent by its SHA1 once it is loaded by Redis.
+     */
+    @Override
+    public void saveAllIfAbsent(Collection<NoteCacheable> notes, Function<NoteCacheable, Duration> ttl) {
+        if (notes.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>(notes.size());
+        List<String> args = new ArrayList<>();
+        notes.forEach(note -> {
+            List<String> saveArgs = saveArgs(note, ttl.apply(note));
+            keys.add(key(note.getUrl()));
+            args.add(saveArgs.get(0));
+            args.add(String.valueOf((saveArgs.size() - 1) / 2));
+            args.addAll(saveArgs.subList(1, saveArgs.size()));
+        });
+
+        redisTemplate.execute(SAVE_ALL_SCRIPT, keys, args.toArray());
+    }
+
+    private static List<String> saveArgs(NoteCacheable note, Duration ttl) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(ttl != null ? ttl.toMillis() : 0));
+        NoteFields.toHash(note).forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        return args;
+    }
+
+    @Override
+    public void expire(String url, Duration ttl) {
+        redisTemplate.expire(key(url), ttl);
+    }
+
+    @Override
+    public NoteCache.PatchResult patch(String url, NotePatch patch) {
+        List<?> result = redisTemplate.execute(
+                PATCH_SCRIPT,
+                List.of(key(url)),
+                toJson(NoteFields.toHashValues(patch.expected())),
+                toJson(NoteFields.toHashValues(patch.fields()))
+        );
+
+        if (result == null || result.isEmpty() || NOT_FOUND.equals(result.get(0))) {
+            throw new NoSuchElementException("Note with key `" + url + "` not found");
+        }
+
+        return new NoteCache.PatchResult(
+                APPLIED.equals(result.get(0)),
+                NoteFields.fromHashEntries((List<?>) result.get(1))
+        );
+    }
+
+    @Override
+    public NoteCacheable getAndDelete(String url) {
+        List<?> entries = redisTemplate.execute(GET_AND_DELETE_SCRIPT, List.of(key(url)));
+        return entries != null ? NoteFields.fromHashEntries(entries) : null;
+    }
+
+    @Override
+    public long deleteAll(Collection<String> urls) {
+        Long deleted = redisTemplate.delete(urls.stream().map(HashNoteStore::key).toList());
+        return deleted != null ? deleted : 0;
+    }
+
+    private static String key(String url) {
+        return KEY_PREFIX + url;
+    }
+
+    private String toJson(Map<String, String> fields) {
+        try {
+            return objectMapper.writeValueAsString(fields);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Could not write fields of note: " + e.getMessage(), e);
+        }
+    }
+}
@@ -1,48 +1,111 @@
 package vstu.isd.notebin.cache;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import vstu.isd.notebin.cache.util.HashSegment;
 import vstu.isd.notebin.service.HashService;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Queue;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * {@code LocalHashCache} a double-buffered local supply of hashes.
+ * <p>
+ * Hashes are consumed from the {@code active} segment without locks. When the active segment is exhausted
+ * by {@code EXHAUSTION_PERCENTAGE}, a segment is prefetched asynchronously into the {@code standby} queue and
+ * replaces the active one as soon as the latter runs out. If the prefetch is late, one of the consumers fetches
+ * a segment synchronously while the others wait for it.
+ * </p>
+ * <p>
+ * Hashes are removed from the hash pool when they are fetched, so a fetched segment is never discarded:
+ * segments which can't become active are queued as standby ones.
+ * </p>
+ * <p>
+ * The size of the prefetched segment adapts to the observed rate of consumption, so that it lasts
+ * at least {@code PREFETCH_LEAD_TIME}. The size is bounded by {@code CAPACITY} below and by the hash-pool size above.
+ * </p>
+ * <p>
+ * The count of available hashes is exposed by {@code notebin.hash.cache.depth},
+ * latency of refills is measured by {@code notebin.hash.cache.refill}.
+ * </p>
+ */
 @Slf4j
 @Component
+@ConditionalOnProperty(name = "spring.hashes.url-generation-mode", havingValue = "HASH_POOL", matchIfMissing = true)
 public class LocalHashCache implements HashCache {
 
     private final HashService hashService;
     private final int CAPACITY;
+    private final int MAX_SEGMENT_SIZE;
     private final int EXHAUSTION_PERCENTAGE;
+    private final Duration PREFETCH_LEAD_TIME;
 
-    private final Queue<String> cache;
+    private final AtomicReference<HashSegment> active;
+    private final ConcurrentLinkedDeque<HashSegment> standby;
 
-    private final AtomicBoolean isFilling;
+    private final Lock fetchLock;
+
+    private final AtomicBoolean isPrefetching;
+
+    private final AtomicLong consumedSinceLastPrefetch;
+    private final AtomicLong lastPrefetchNanos;
+
+    private final Timer prefetchTimer;
+    private final Timer fetchTimer;
 
     public LocalHashCache(
             HashService hashService,
             @Qualifier("hashCacheSize") int capacity,
-            @Qualifier("cacheExhaustionPercentage") int exhaustionPercentage
+            @Qualifier("HASH_POOL_SIZE") int hashPoolSize,
+            @Qualifier("cacheExhaustionPercentage") int exhaustionPercentage,
+            @Qualifier("hashPrefetchLeadTime") Duration prefetchLeadTime,
+            MeterRegistry meterRegistry
     ) {
         this.hashService = hashService;
         CAPACITY = capacity;
+        MAX_SEGMENT_SIZE = Math.max(capacity, hashPoolSize);
         EXHAUSTION_PERCENTAGE = exhaustionPercentage;
-        cache = new ArrayBlockingQueue<>(CAPACITY);
-        isFilling = new AtomicBoolean(false);
+        PREFETCH_LEAD_TIME = prefetchLeadTime;
+        active = new AtomicReference<>(new HashSegment(List.of()));
+        standby = new ConcurrentLinkedDeque<>();
+        fetchLock = new ReentrantLock();
+        isPrefetching = new AtomicBoolean(false);
+        consumedSinceLastPrefetch = new AtomicLong(0);
+        lastPrefetchNanos = new AtomicLong(System.nanoTime());
+
+        Gauge.builder("notebin.hash.cache.depth", this, LocalHashCache::depth)
+                .description("Hashes available in the active and standby segments")
+                .register(meterRegistry);
+        prefetchTimer = refillTimer("prefetch", meterRegistry);
+        fetchTimer = refillTimer("fetch", meterRegistry);
+    }
+
+    private static Timer refillTimer(String mode, MeterRegistry meterRegistry) {
+        return Timer.builder("notebin.hash.cache.refill")
+                .description("Latency of loading a segment of hashes from the hash pool")
+                .tag("mode", mode)
+                .register(meterRegistry);
     }
 
     @PostConstruct
     public void init() {
-        cache.addAll(
-                hashService.getHashes(CAPACITY)
-        );
+        active.set(new HashSegment(hashService.getHashes(CAPACITY)));
     }
 
     @Retryable(
@@ -53,29 +116,96 @@ public class LocalHashCache implements HashCache {
     @Override
     public String getHash() {
 
-        if (isCacheExhausted()) {
-            if (isFilling.compareAndExchange(false, true)) {
-                fillCacheAsync();
+        while (true) {
+            HashSegment segment = active.get();
+
+            String hash = segment.poll();
+            if (hash != null) {
+                consumedSinceLastPrefetch.incrementAndGet();
+                if (isSegmentExhausted(segment)) {
+                    prefetchAsync();
+                }
+                return hash;
+            }
+
+            HashSegment next = standby.pollFirst();
+            if (next == null) {
+                fetchSegment(segment);
+                continue;
+            }
+
+            if (!active.compareAndSet(segment, next)) {
+                // the exhausted segment is already replaced by a concurrent consumer
+                standby.offerFirst(next);
+            }
+        }
+    }
+
+    /**
+     * Fallback for the case when the prefetch didn't catch up with the consumption.
+     * Only one consumer fetches a segment, the others wait and consume it.
+     */
+    private void fetchSegment(HashSegment exhausted) {
+        fetchLock.lock();
+        try {
+            if (active.get() != exhausted || !standby.isEmpty()) {
+                // refilled while waiting
+                return;
+            }
+
+            log.warn("Hash cache is exhausted before prefetch completion");
+
+            int size = nextSegmentSize();
+            HashSegment fetched = fetchTimer.record(() -> new HashSegment(hashService.getHashes(size)));
+            if (fetched.remaining() == 0) {
+                log.error("Cache is empty");
+                throw new NoSuchElementException("Cache is empty");
             }
+
+            if (!active.compareAndSet(exhausted, fetched)) {
+                standby.offerLast(fetched);
+            }
+        } finally {
+            fetchLock.unlock();
         }
+    }
 
-        String hash = cache.poll();
+    private boolean isSegmentExhausted(HashSegment segment) {
+        return segment.remaining() <= segment.size() * EXHAUSTION_PERCENTAGE / 100;
+    }
 
-        if (hash == null) {
-            log.error("Cache is empty");
-            throw new NoSuchElementException("Cache is empty");
+    private void prefetchAsync() {
+        if (!standby.isEmpty() || !isPrefetching.compareAndSet(false, true)) {
+            return;
         }
 
-        return hash;
+        Timer.Sample sample = Timer.start();
+        hashService.getHashesAsync(nextSegmentSize())
+                .thenAccept(hashes -> standby.offerLast(new HashSegment(hashes)))
+                .whenComplete((ignored, e) -> {
+                    sample.stop(prefetchTimer);
+                    if (e != null) {
+                        log.error("Failed to prefetch hashes", e);
+                    }
+                    isPrefetching.set(false);
+                });
     }
 
-    private boolean isCacheExhausted() {
-        return cache.size() <= CAPACITY * EXHAUSTION_PERCENTAGE / 100;
+    private int depth() {
+        return active.get().remaining() + standby.stream().mapToInt(HashSegment::remaining).sum();
     }
 
-    private void fillCacheAsync() {
-        hashService.getHashesAsync(CAPACITY)
-                .thenAccept(cache::addAll)
-                .thenRun(() -> isFilling.set(false));
+    /**
+     * Estimates the count of hashes consumed during {@code PREFETCH_LEAD_TIME} by the rate since the last prefetch.
+     */
+    private int nextSegmentSize() {
+        long now = System.nanoTime();
+        long elapsedNanos = Math.max(1, now - lastPrefetchNanos.getAndSet(now));
+        long consumed = consumedSinceLastPrefetch.getAndSet(0);
+
+        double ratePerNano = (double) consumed / elapsedNanos;
+        long expected = (long) Math.ceil(ratePerNano * PREFETCH_LEAD_TIME.toNanos());
+
+        return (int) Math.max(CAPACITY, Math.min(MAX_SEGMENT_SIZE, expected));
     }
 }
@@ -0,0 +1,219 @@
+package vstu.isd.notebin.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.NoteCacheable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * {@code LocalNoteCache} an in-process (L1) tier in front of the Redis {@link NoteCache}.
+ * <p>
+ * Only notes with {@link ExpirationType#NEVER} are kept here: their reads don't change the state of the note,
+ * so a local copy can be served without a Redis round-trip. The cache is bounded by the approximate
+ * size of the notes (W-TinyLFU eviction) and by a TTL.
+ * </p>
+ * <p>
+ * Coherence between instances is kept by publishing the url of a changed note in the Redis channel
+ * {@code invalidationTopic}; every instance (the publisher too) drops its local copy on receive.
+ * Urls of notes changed together are published in one message separated by {@code URL_SEPARATOR}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class LocalNoteCache implements MessageListener, MeterBinder {
+
+    private final static int NOTE_OVERHEAD_BYTES = 256;
+    private final static String URL_SEPARATOR = "\n";
+
+    private final Cache<String, NoteCacheable> cache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ChannelTopic invalidationTopic;
+
+    /**
+     * Incremented on every invalidation. Used to reject notes read from Redis before a concurrent invalidation.
+     */
+    private final AtomicLong invalidationEpoch;
+
+    private final Set<Invalidations> trackedInvalidations;
+
+    LocalNoteCache(
+            StringRedisTemplate stringRedisTemplate,
+            @Qualifier("noteInvalidationTopic") ChannelTopic invalidationTopic,
+            @Qualifier("localCacheMaxSize") DataSize maxSize,
+            @Qualifier("localCacheTTL") Duration ttl
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.invalidationTopic = invalidationTopic;
+        this.invalidationEpoch = new AtomicLong(0);
+        this.trackedInvalidations = ConcurrentHashMap.newKeySet();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher(LocalNoteCache::approximateSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retrieves a copy of the locally cached note.
+     *
+     * @param url the key (URL) of the note to retrieve
+     * @return an {@link Optional} containing the note if found, or empty if not
+     */
+    public Optional<NoteCacheable> get(String url) {
+        NoteCacheable note = cache.getIfPresent(url);
+        return note != null ? Optional.of(copyOf(note)) : Optional.empty();
+    }
+
+    /**
+     * @return the current invalidation epoch, must be taken <u>before</u> reading the note from Redis
+     */
+    public long epoch() {
+        return invalidationEpoch.get();
+    }
+
+    /**
+     * Caches a copy of the note if it is cacheable locally and no invalidation happened since {@code epoch}.
+     *
+     * @param note  the note read from Redis
+     * @param epoch the value of {@link #epoch()} taken before the note was read
+     */
+    public void putIfNotInvalidated(NoteCacheable note, long epoch) {
+        if (note.getExpirationType() != ExpirationType.NEVER || epoch != epoch()) {
+            return;
+        }
+
+        cache.put(note.getUrl(), copyOf(note));
+
+        // invalidation may have happened between the check and the put
+        if (epoch != epoch()) {
+            cache.invalidate(note.getUrl());
+        }
+    }
+
+    /**
+     * Starts recording urls of notes invalidated on this or any other instance.
+     * Used to reject notes read from the database before a concurrent modification.
+     *
+     * @return the urls invalidated since the call, recording stops when they are closed
+     */
+    public Invalidations trackInvalidations() {
+        Invalidations invalidations = new Invalidations(trackedInvalidations::remove);
+        trackedInvalidations.add(invalidations);
+        return invalidations;
+    }
+
+    /**
+     * Drops the note from the local cache of this and every other instance.
+     *
+     * @param url the key (URL) of the changed note
+     */
+    public void evict(String url) {
+        invalidate(url);
+        try {
+            stringRedisTemplate.convertAndSend(invalidationTopic.getTopic(), url);
+        } catch (Exception e) {
+            log.error("Failed to publish invalidation of note {}", url, e);
+        }
+    }
+
+    /**
+     * Drops the notes from the local cache of this and every other instance by one message.
+     *
+     * @param urls the keys (URLs) of the changed notes
+     */
+    public void evictAll(Collection<String> urls) {
+        if (urls.isEmpty()) {
+            return;
+        }
+
+        urls.forEach(this::invalidate);
+        try {
+            stringRedisTemplate.convertAndSend(invalidationTopic.getTopic(), String.join(URL_SEPARATOR, urls));
+        } catch (Exception e) {
+            log.error("Failed to publish invalidation of {} notes", urls.size(), e);
+        }
+    }
+
+    public void evictAll() {
+        invalidationEpoch.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "localNoteCache");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        for (String url : new String(message.getBody(), StandardCharsets.UTF_8).split(URL_SEPARATOR)) {
+            invalidate(url);
+        }
+    }
+
+    private void invalidate(String url) {
+        invalidationEpoch.incrementAndGet();
+        trackedInvalidations.forEach(invalidations -> invalidations.urls.add(url));
+        cache.invalidate(url);
+    }
+
+    private static NoteCacheable copyOf(NoteCacheable note) {
+        return note.toBuilder().build();
+    }
+
+    private static int approximateSize(String url, NoteCacheable note) {
+        long chars = (long) url.length()
+                + (note.getTitle() == null ? 0 : note.getTitle().length())
+                + (note.getContent() == null ? 0 : note.getContent().length());
+        return (int) Math.min(Integer.MAX_VALUE, NOTE_OVERHEAD_BYTES + chars * Character.BYTES);
+    }
+
+    /**
+     * Urls of notes invalidated since {@link #trackInvalidations()}.
+     */
+    public static final class Invalidations implements AutoCloseable {
+
+        private final Set<String> urls;
+        private final Consumer<Invalidations> onClose;
+
+        private Invalidations(Consumer<Invalidations> onClose) {
+            this.urls = ConcurrentHashMap.newKeySet();
+            this.onClose = onClose;
+        }
+
+        public boolean contains(String url) {
+            return urls.contains(url);
+        }
+
+        @Override
+        public void close() {
+            onClose.accept(this);
+        }
+    }
+}
@@ -1,57 +1,72 @@
 package vstu.isd.notebin.cache;
 
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.OptimisticLockException;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisOperations;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
-import vstu.isd.notebin.cache.util.CASUpdate;
+import vstu.isd.notebin.cache.util.NoteFields;
+import vstu.isd.notebin.cache.util.NotePatch;
+import vstu.isd.notebin.entity.ExpirationType;
 import vstu.isd.notebin.entity.NoteCacheable;
 
 import java.time.Duration;
-import java.util.NoSuchElementException;
-import java.util.Optional;
-import java.util.function.BiFunction;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.function.Function;
-import java.util.function.Supplier;
-import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
 
 /**
  * {@code NoteCache} a component responsible for managing a cache of notes in a Redis cache.
  * <p>
  * This class provides methods to perform cache operations such as read,
- * transaction update with Optimistic Lock, and deletion of cached notes. It supports features like
- * setting default expiration times.
+ * atomic conditional update by a server-side script, and deletion of cached notes. It supports features like
+ * setting default expiration times. The layout of notes in Redis is defined by the {@link NoteStore}.
+ * </p>
+ * <p>
+ * Reads by {@link #getAndExpire(String, Duration)} are served from the {@link LocalNoteCache} first,
+ * every modification evicts the note from the local caches of all instances.
+ * </p>
+ * <p>
+ * A note doesn't live in Redis longer than it is available: notes expiring by period are kept until their
+ * expiration, unavailable notes are kept as tombstones without content for {@code TOMBSTONE_TTL}, so concurrent reads
+ * of a burned note see that it is burned. Expired notes which are still available are kept the same time,
+ * until a read burns them. Reads don't extend the TTL of these notes, it is set when they are saved or patched.
+ * </p>
+ * <p>
+ * Hits and misses are counted by {@code notebin.note.cache.requests} per operation, latencies are measured by
+ * {@code notebin.note.cache.latency}, rejected patches are counted by {@code notebin.note.cache.patch.rejected}.
  * </p>
  */
 @Component
 public class NoteCache {
 
-    private final RedisTemplate<String, NoteCacheable> redisTemplate;
-    private final NoteCacheHeater cacheHeater;
-    private final int CAPACITY;
+    private final NoteStore store;
+    private final LocalNoteCache localCache;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedPatches;
     private final Duration DEFAULT_TTL;
+    private final Duration TOMBSTONE_TTL;
+
+    private final static String LOCAL_HIT = "local_hit";
+    private final static String HIT = "hit";
+    private final static String MISS = "miss";
 
     NoteCache(
-            RedisTemplate<String, NoteCacheable> redisTemplate,
-            @Qualifier("cacheNoteCapacity") int capacity,
-            Duration defaultTTL,
-            NoteCacheHeater cacheHeater
+            NoteStore store,
+            @Qualifier("defaultTTL") Duration defaultTTL,
+            @Qualifier("tombstoneTTL") Duration tombstoneTTL,
+            LocalNoteCache localCache,
+            MeterRegistry meterRegistry
     ) {
-        this.redisTemplate = redisTemplate;
-        this.cacheHeater = cacheHeater;
-        CAPACITY = capacity;
+        this.store = store;
+        this.localCache = localCache;
+        this.meterRegistry = meterRegistry;
+        this.rejectedPatches = Counter.builder("notebin.note.cache.patch.rejected")
+                .description("Patches of notes in Redis not applied since the note doesn't match the expected fields")
+                .register(meterRegistry);
         DEFAULT_TTL = defaultTTL;
-    }
-
-    @PostConstruct
-    public void init() {
-        redisTemplate.opsForValue().multiSet(
-                cacheHeater.getMostUsedNotes(CAPACITY).stream()
-                        .collect(Collectors.toMap(NoteCacheable::getUrl, note -> note))
-        );
+        TOMBSTONE_TTL = tombstoneTTL;
     }
 
     /**
@@ -61,22 +76,77 @@ public class NoteCache {
      * @return an {@link Optional} containing the note if found, or empty if not
      */
     public Optional<NoteCacheable> get(String url) {
-        NoteCacheable note = redisTemplate.opsForValue().get(url);
+        NoteCacheable note = timer("get").record(() -> store.get(url));
+        countRequests("get", note != null ? HIT : MISS, 1);
         return note != null ? Optional.of(note) : Optional.empty();
     }
 
     /**
-     * Retrieves a note from the cache and resets its TTL to the specified duration.
+     * Retrieves notes from the cache by their URLs in one request.
+     * <p>
+     * Notes present in the {@link LocalNoteCache} are taken from it, only the rest are requested from Redis.
+     *
+     * @param urls the keys (URLs) of the notes to retrieve
+     * @return the found notes by their URLs, missing notes are absent in the map
+     */
+    public Map<String, NoteCacheable> getAll(Collection<String> urls) {
+        if (urls.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, NoteCacheable> found = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        for (String url : new LinkedHashSet<>(urls)) {
+            localCache.get(url).ifPresentOrElse(note -> found.put(url, note), () -> keys.add(url));
+        }
+        countRequests("get_all", LOCAL_HIT, found.size());
+
+        if (keys.isEmpty()) {
+            return found;
+        }
+
+        List<NoteCacheable> notes = timer("get_all").record(() -> store.getAll(keys));
+
+        int hits = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            if (notes.get(i) != null) {
+                found.put(keys.get(i), notes.get(i));
+                hits++;
+            }
+        }
+
+        countRequests("get_all", HIT, hits);
+        countRequests("get_all", MISS, keys.size() - hits);
+
+        return found;
+    }
+
+    /**
+     * Retrieves a note from the cache and resets its TTL to the specified duration in one request to Redis,
+     * unless the note is unavailable or burns by period, the TTL of such a note is kept.
+     * <p>
+     * If the note is present in the {@link LocalNoteCache}, Redis isn't requested and the TTL isn't reset.
      *
      * @param url the key (URL) of the note to retrieve
      * @param ttl the new time-to-live duration
      * @return an {@link Optional} containing the note if found, or empty if not
      */
     public Optional<NoteCacheable> getAndExpire(String url, Duration ttl) {
-        NoteCacheable note = redisTemplate.opsForValue().getAndExpire(url, ttl);
+        Optional<NoteCacheable> localNote = localCache.get(url);
+        if (localNote.isPresent()) {
+            countRequests("get_and_expire", LOCAL_HIT, 1);
+            return localNote;
+        }
+
+        long epoch = localCache.epoch();
+        NoteCacheable note = timer("get_and_expire").record(() -> store.getAndExpire(url, ttl));
         if (note == null) {
+            countRequests("get_and_expire", MISS, 1);
             return Optional.empty();
         }
+        countRequests("get_and_expire", HIT, 1);
+
+        localCache.putIfNotInvalidated(note, epoch);
 
         return Optional.of(note);
     }
@@ -91,6 +161,30 @@ public class NoteCache {
         return getAndExpire(url, DEFAULT_TTL);
     }
 
+    /**
+     * Retrieves a note without its content if the layout allows, and resets its TTL to the default duration
+     * as {@link #getAndExpire(String)} does.
+     * <p>
+     * If the note is present in the {@link LocalNoteCache}, Redis isn't requested and the TTL isn't reset.
+     *
+     * @param url the key (URL) of the note to retrieve
+     * @return an {@link Optional} containing the note, possibly without content, if found, or empty if not
+     */
+    public Optional<NoteCacheable> getPreviewAndExpire(String url) {
+        Optional<NoteCacheable> localNote = localCache.get(url);
+        if (localNote.isPresent()) {
+            countRequests("get_preview_and_expire", LOCAL_HIT, 1);
+            return localNote;
+        }
+
+        NoteCacheable note = timer("get_preview_and_expire").record(
+                () -> store.getPreviewAndExpire(url, DEFAULT_TTL)
+        );
+        countRequests("get_preview_and_expire", note != null ? HIT : MISS, 1);
+
+        return Optional.ofNullable(note);
+    }
+
     /**
      * Saves a note to the cache if it is not already present.
      *
@@ -98,70 +192,70 @@ public class NoteCache {
      * @return {@code true} if the note was successfully saved, {@code false} if it already exists
      */
     public boolean save(NoteCacheable note) {
-        return Boolean.TRUE.equals(
-                DEFAULT_TTL != null ?
-                        redisTemplate.opsForValue().setIfAbsent(
-                                note.getUrl(),
-                                note,
-                                DEFAULT_TTL
-                        )
-                        :
-                        redisTemplate.opsForValue().setIfAbsent(
-                                note.getUrl(),
-                                note
-                        )
-        );
+        return timer("save").record(() -> store.saveIfAbsent(tombstoneIfUnavailable(note), ttlOf(note, DEFAULT_TTL)));
     }
 
     /**
-     * Updates a note in the cache if it is present.
+     * Saves the notes which are not already present in the cache in one request to Redis.
      *
-     * @param url      the key (URL) of the updatable note
-     * @param modifier a function that modifies the note stored by the key {@code url}
-     * @return the updated note
-     * @throws NoSuchElementException  if the note with the specified key does not exist
-     * @throws OptimisticLockException if the note was updated by another process/transaction
+     * @param notes the {@link NoteCacheable} objects to save
      */
-    public NoteCacheable update(String url, UnaryOperator<NoteCacheable> modifier) {
-        return updateWithOLE(
-                url,
-                ops -> {
-                    NoteCacheable note = ops.opsForValue().get(url);
-                    if (note == null) {
-                        throw new NoSuchElementException("Note with key `" + url + "` not found");
-                    }
-                    return note;
-                },
-                (persisted, ops) -> {
-
-                    NoteCacheable updated = modifier.apply(persisted);
-                    // If the key doesn't exist, there will be no update.
-                    Boolean updateSuccess = ops.opsForValue().setIfPresent(url, updated);
-
-                    if (Boolean.FALSE.equals(updateSuccess)) {
-                        throw new NoSuchElementException("Note with key `" + url + "` not found");
-                    }
-                    return updated;
-                }
-        );
+    public void saveAll(Collection<NoteCacheable> notes) {
+        saveAll(notes, note -> ttlOf(note, DEFAULT_TTL));
     }
 
-    private NoteCacheable updateWithOLE(
-            String key,
-            Function<RedisOperations<String, NoteCacheable>, NoteCacheable> provider,
-            BiFunction<NoteCacheable, RedisOperations<String, NoteCacheable>, NoteCacheable> modifier
-    ) {
+    /**
+     * Saves the notes which are not already present in the cache in one request to Redis.
+     *
+     * @param notes the {@link NoteCacheable} objects to save
+     * @param ttl   the time-to-live of every note, {@code null} to keep the note until eviction
+     */
+    public void saveAll(Collection<NoteCacheable> notes, Function<NoteCacheable, Duration> ttl) {
+        if (!notes.isEmpty()) {
+            List<NoteCacheable> saved = notes.stream().map(NoteCache::tombstoneIfUnavailable).toList();
+            timer("save_all").record(() -> store.saveAllIfAbsent(saved, ttl));
+        }
+    }
+
+    /**
+     * Applies the patch to a note in the cache in one request to Redis.
+     * <p>
+     * The fields of the patch are set only if the current fields of the note are equal to the expected ones,
+     * the check and the modification are atomic, so a patch never overwrites a concurrent change.
+     * The TTL of the note is kept, unless the patched note must not live that long, e.g. a burned note becomes a tombstone.
+     * A patch making the note available deletes it from Redis, since a tombstone has no content.
+     *
+     * @param url   the key (URL) of the patchable note
+     * @param patch the expected and the new fields of the note
+     * @return the patched note if the patch is applied, otherwise the current note, in both cases possibly without content
+     * @throws NoSuchElementException  if the note with the specified key does not exist
+     * @throws OptimisticLockException if the note is changed concurrently too many times to be patched
+     */
+    public PatchResult patch(String url, NotePatch patch) {
+        try {
+            return timer("patch").record(() -> patchInRedis(url, patch));
+        } finally {
+            localCache.evict(url);
+        }
+    }
 
-        Supplier<NoteCacheable> doIfUpdateFailed = () -> {
-            throw new OptimisticLockException();
-        };
+    private PatchResult patchInRedis(String url, NotePatch patch) {
+        PatchResult result = store.patch(url, patch);
+        if (!result.isApplied()) {
+            rejectedPatches.increment();
+        } else if (Boolean.TRUE.equals(patch.fields().get(NoteFields.AVAILABLE))) {
+            // the note may be a tombstone without content, the next read loads it from the database
+            store.getAndDelete(url);
+        } else {
+            shortenTTL(url, result.note(), DEFAULT_TTL);
+        }
+        return result;
+    }
 
-        return redisTemplate.execute(new CASUpdate<>(
-                key,
-                provider,
-                modifier,
-                doIfUpdateFailed
-        ));
+    /**
+     * @param note the patched note if {@code isApplied}, otherwise the current note, possibly without content
+     */
+    public record PatchResult(boolean isApplied, NoteCacheable note) {
     }
 
     /**
@@ -171,6 +265,88 @@ public class NoteCache {
      * @return the deleted note or {@code null} if isn't present
      */
     public NoteCacheable deleteNote(String url) {
-        return redisTemplate.opsForValue().getAndDelete(url);
+        try {
+            return timer("delete").record(() -> store.getAndDelete(url));
+        } finally {
+            localCache.evict(url);
+        }
+    }
+
+    /**
+     * Deletes notes from the cache in one request to Redis.
+     *
+     * @param urls the keys (URLs) of the deletable notes
+     * @return the count of deleted notes
+     */
+    public long deleteAll(Collection<String> urls) {
+        if (urls.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return timer("delete_all").record(() -> store.deleteAll(urls));
+        } finally {
+            localCache.evictAll(urls);
+        }
+    }
+
+    /**
+     * @param ttl the TTL of a note which may live in the cache as long as it's read
+     * @return the {@code ttl} limited by the expiration of the note,
+     * or {@code TOMBSTONE_TTL} if the note is unavailable or already expired
+     */
+    Duration ttlOf(NoteCacheable note, Duration ttl) {
+        if (note.isNotAvailable()) {
+            return min(TOMBSTONE_TTL, ttl);
+        }
+        if (note.getExpirationType() != ExpirationType.BURN_BY_PERIOD) {
+            return ttl;
+        }
+
+        Duration untilExpiration = Duration.between(LocalDateTime.now(), note.expireAt());
+        if (untilExpiration.toMillis() <= 0) {
+            // kept until a read burns it
+            return min(TOMBSTONE_TTL, ttl);
+        }
+        return min(untilExpiration, ttl);
+    }
+
+    /**
+     * @return the note without content if it is unavailable, the content of a burned note is never read
+     */
+    private static NoteCacheable tombstoneIfUnavailable(NoteCacheable note) {
+        return note.isNotAvailable() && note.getContent() != null ? note.toBuilder().content(null).build() : note;
+    }
+
+    /**
+     * Shortens the TTL kept by a patch to the note if the patched note must not live that long.
+     */
+    private void shortenTTL(String url, NoteCacheable note, Duration ttl) {
+        Duration noteTTL = ttlOf(note, ttl);
+        if (noteTTL.compareTo(ttl) < 0) {
+            timer("expire").record(() -> store.expire(url, noteTTL));
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private Timer timer(String operation) {
+        return Timer.builder("notebin.note.cache.latency")
+                .description("Latency of operations with notes in Redis")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private void countRequests(String operation, String result, int amount) {
+        if (amount > 0) {
+            Counter.builder("notebin.note.cache.requests")
+                    .description("Requested notes by the cache level they were found at")
+                    .tag("operation", operation)
+                    .tag("result", result)
+                    .register(meterRegistry)
+                    .increment(amount);
+        }
     }
 }
\ No newline at end of file
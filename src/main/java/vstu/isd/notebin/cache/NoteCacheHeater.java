@@ -1,9 +1,6 @@
 package vstu.isd.notebin.cache;
 
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import vstu.isd.notebin.entity.Note;
@@ -11,69 +8,66 @@ import vstu.isd.notebin.entity.NoteCacheable;
 import vstu.isd.notebin.mapper.NoteMapper;
 import vstu.isd.notebin.repository.NoteRepository;
 
-import java.util.LinkedList;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 public class NoteCacheHeater {
 
     private final NoteRepository noteRepository;
     private final NoteMapper noteMapper;
-    private final int PAGE_SIZE;
+    private final Duration POPULARITY_WINDOW;
 
     NoteCacheHeater(
             NoteRepository noteRepository,
             NoteMapper noteMapper,
-            @Qualifier("heaterPageSize") int pageSize
+            @Qualifier("warmUpPopularityWindow") Duration popularityWindow
     ) {
         this.noteRepository = noteRepository;
         this.noteMapper = noteMapper;
-        PAGE_SIZE = pageSize;
+        POPULARITY_WINDOW = popularityWindow;
     }
 
-    private final static Pageable EMPTY_PAGEABLE = Pageable.unpaged();
-    private final int INDEX_OF_FIRST_PAGE = 0;
-
-    @Transactional
+    /**
+     * @return available and not expired notes, the most viewed within {@code POPULARITY_WINDOW} first
+     */
+    @Transactional(readOnly = true)
     public List<NoteCacheable> getMostUsedNotes(int amount) {
 
-        List<Note> mostUsedNotes = new LinkedList<>();
-
-        Pageable pageable = PageRequest.of(INDEX_OF_FIRST_PAGE, PAGE_SIZE);
-        int remaining = amount;
-        while(remaining > 0 && pageable != EMPTY_PAGEABLE){
-
-            Page<Note> notePage = noteRepository.findAll(pageable);
-            mostUsedNotes.addAll(necessaryNotesOnPage(notePage, remaining));
-
-            remaining = amount - mostUsedNotes.size();
-            pageable = nextPageable(notePage, pageable);
+        try (Stream<Note> mostUsedNotes = streamMostViewedAvailable(amount)) {
+            return mostUsedNotes
+                    .map(noteMapper::toCacheable)
+                    .collect(Collectors.toList());
         }
-
-        return mostUsedNotes.stream()
-                .map(noteMapper::toCacheable)
-                .collect(Collectors.toList());
-    }
-
-    private List<Note> necessaryNotesOnPage(Page<Note> notePage, int necessary) {
-
-        List<Note> currentNotesOnPage = notePage.getContent();
-        List<Note> necessaryNotes = currentNotesOnPage.subList(
-                0,
-                countOfNecessaryNotesOnPage(necessary, currentNotesOnPage.size())
-        );
-
-        return necessaryNotes;
     }
 
-    private int countOfNecessaryNotesOnPage(int remaining, int notesOnPage) {
-
-        return Math.min(remaining, notesOnPage);
+    /**
+     * Passes the same notes as {@link #getMostUsedNotes(int)} to the {@code consumer} by chunks as they are read,
+     * so the first chunks are consumed before the last ones are read.
+     */
+    @Transactional(readOnly = true)
+    public void forEachChunkOfMostUsedNotes(int amount, int chunkSize, Consumer<List<NoteCacheable>> consumer) {
+
+        try (Stream<Note> mostUsedNotes = streamMostViewedAvailable(amount)) {
+            List<NoteCacheable> chunk = new ArrayList<>(chunkSize);
+            Iterator<Note> notes = mostUsedNotes.iterator();
+            while (notes.hasNext()) {
+                chunk.add(noteMapper.toCacheable(notes.next()));
+                if (chunk.size() == chunkSize || !notes.hasNext()) {
+                    consumer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
     }
 
-    private Pageable nextPageable(Page page, Pageable pageable) {
-
-        return page.hasNext() ? pageable.next() : EMPTY_PAGEABLE;
+    private Stream<Note> streamMostViewedAvailable(int amount) {
+        return noteRepository.streamMostViewedAvailable(LocalDateTime.now().minus(POPULARITY_WINDOW), amount);
     }
 }
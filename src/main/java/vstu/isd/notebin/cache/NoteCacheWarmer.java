@@ -0,0 +1,127 @@
+package vstu.isd.notebin.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import vstu.isd.notebin.entity.NoteCacheable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code NoteCacheWarmer} fills the {@link NoteCache} with the most used notes in the background after startup.
+ * <p>
+ * Notes are read by {@link NoteCacheHeater} and saved by chunks of {@code CHUNK_SIZE}, every chunk in one round trip.
+ * Only absent notes are saved, so notes modified by requests served during the warm-up are not overwritten.
+ * Notes modified after the warm-up has started are skipped, since their read copies may be outdated, and
+ * the ones modified while their chunk is saved are deleted from the cache after the save.
+ * </p>
+ * <p>
+ * As a health indicator it is {@code OUT_OF_SERVICE} until {@code READY_PERCENTAGE} of {@code CAPACITY} notes
+ * are warmed up or the warm-up ends, it is included in the readiness group. The count of warmed up notes
+ * is exposed by {@code notebin.note.cache.warm_up.notes}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class NoteCacheWarmer implements HealthIndicator {
+
+    private final NoteCache noteCache;
+    private final NoteCacheHeater cacheHeater;
+    private final LocalNoteCache localCache;
+    private final int CAPACITY;
+    private final int READY_PERCENTAGE;
+    private final int CHUNK_SIZE;
+
+    private final AtomicInteger warmedUp;
+    private final AtomicReference<State> state;
+
+    enum State {
+        PENDING, WARMING_UP, DONE, FAILED
+    }
+
+    NoteCacheWarmer(
+            NoteCache noteCache,
+            NoteCacheHeater cacheHeater,
+            LocalNoteCache localCache,
+            @Qualifier("cacheNoteCapacity") int capacity,
+            @Qualifier("cacheWarmUpReadyPercentage") int readyPercentage,
+            @Qualifier("cacheWarmUpChunkSize") int chunkSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.noteCache = noteCache;
+        this.cacheHeater = cacheHeater;
+        this.localCache = localCache;
+        CAPACITY = capacity;
+        READY_PERCENTAGE = readyPercentage;
+        CHUNK_SIZE = chunkSize;
+        warmedUp = new AtomicInteger(0);
+        state = new AtomicReference<>(State.PENDING);
+
+        Gauge.builder("notebin.note.cache.warm_up.notes", warmedUp, AtomicInteger::get)
+                .description("Notes saved to the cache by the warm-up")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmUp() {
+        if (!state.compareAndSet(State.PENDING, State.WARMING_UP)) {
+            return;
+        }
+
+        Thread thread = new Thread(this::warmUp, "note-cache-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        try (LocalNoteCache.Invalidations modified = localCache.trackInvalidations()) {
+            cacheHeater.forEachChunkOfMostUsedNotes(CAPACITY, CHUNK_SIZE, chunk -> {
+                List<NoteCacheable> unmodified = chunk.stream()
+                        .filter(note -> !modified.contains(note.getUrl()))
+                        .toList();
+                noteCache.saveAll(unmodified);
+
+                List<String> modifiedWhileSaving = unmodified.stream()
+                        .map(NoteCacheable::getUrl)
+                        .filter(modified::contains)
+                        .toList();
+                if (!modifiedWhileSaving.isEmpty()) {
+                    noteCache.deleteAll(modifiedWhileSaving);
+                }
+
+                warmedUp.addAndGet(unmodified.size() - modifiedWhileSaving.size());
+            });
+            state.set(State.DONE);
+            log.info("Note cache is warmed up by {} notes in {} ms", warmedUp.get(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            state.set(State.FAILED);
+            log.error("Note cache warm-up failed after {} notes", warmedUp.get(), e);
+        }
+    }
+
+    public boolean isReady() {
+        State current = state.get();
+        return current == State.DONE
+                || current == State.FAILED
+                || (long) warmedUp.get() * 100 >= (long) CAPACITY * READY_PERCENTAGE;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = isReady() ? Health.up() : Health.outOfService();
+        return health
+                .withDetail("state", state.get())
+                .withDetail("warmedUp", warmedUp.get())
+                .withDetail("capacity", CAPACITY)
+                .build();
+    }
+}
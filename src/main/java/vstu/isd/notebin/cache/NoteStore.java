@@ -0,0 +1,80 @@
+package vstu.isd.notebin.cache;
+
+import jakarta.persistence.OptimisticLockException;
+import vstu.isd.notebin.cache.util.NotePatch;
+import vstu.isd.notebin.entity.NoteCacheable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * {@code NoteStore} a layout of notes in Redis used by {@link NoteCache}.
+ * <p>
+ * The layout is chosen by {@code spring.note.cache-layout}.
+ * </p>
+ */
+public interface NoteStore {
+
+    /**
+     * @return the note or {@code null} if it is absent
+     */
+    NoteCacheable get(String url);
+
+    /**
+     * @return the notes in the order of {@code urls}, absent notes are {@code null}
+     */
+    List<NoteCacheable> getAll(List<String> urls);
+
+    /**
+     * Reads the note and resets its TTL in one round trip. The TTL of an unavailable note or a note burning by period
+     * is kept, since it is limited by the expiration of the note.
+     *
+     * @return the note or {@code null} if it is absent
+     */
+    NoteCacheable getAndExpire(String url, Duration ttl);
+
+    /**
+     * Same as {@link #getAndExpire}, except the content of the note may be omitted
+     */
+    NoteCacheable getPreviewAndExpire(String url, Duration ttl);
+
+    /**
+     * @param ttl time-to-live of the note or {@code null} to keep the note until eviction
+     * @return {@code true} if the note is saved, {@code false} if it is already present
+     */
+    boolean saveIfAbsent(NoteCacheable note, Duration ttl);
+
+    /**
+     * Saves the absent notes in one round trip, the present ones are kept.
+     *
+     * @param ttl time-to-live of every saved note or {@code null} to keep the note until eviction
+     */
+    void saveAllIfAbsent(Collection<NoteCacheable> notes, Function<NoteCacheable, Duration> ttl);
+
+    /**
+     * Sets the time-to-live of the note if it is present.
+     */
+    void expire(String url, Duration ttl);
+
+    /**
+     * @return the result of the patch, the content of the returned note may be omitted
+     * @throws NoSuchElementException  if the note is absent
+     * @throws OptimisticLockException if the note is changed concurrently too many times to be patched
+     */
+    NoteCache.PatchResult patch(String url, NotePatch patch);
+
+    /**
+     * @return the deleted note or {@code null} if it is absent
+     */
+    NoteCacheable getAndDelete(String url);
+
+    /**
+     * Deletes the notes in one round trip.
+     *
+     * @return the count of deleted notes
+     */
+    long deleteAll(Collection<String> urls);
+}
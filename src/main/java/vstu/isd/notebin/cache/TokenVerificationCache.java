@@ -0,0 +1,189 @@
+package vstu.isd.notebin.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code TokenVerificationCache} keeps results of access token verification by the auth service.
+ * <p>
+ * Tokens are stored by their SHA-256 digest. A verified token is kept no longer than {@code TTL}
+ * and its {@code exp} claim, a rejected token is kept for {@code NEGATIVE_TTL}.
+ * </p>
+ * <p>
+ * A token is revoked early by publishing the hex SHA-256 digest of the token in the Redis channel
+ * {@code revocationTopic}; every instance drops the token on receive.
+ * </p>
+ */
+@Slf4j
+@Component
+public class TokenVerificationCache implements MessageListener, MeterBinder {
+
+    /**
+     * @param userId    the id of the token's user or {@code null} if the token was rejected
+     * @param expiresAt the moment the verification result must be forgotten
+     */
+    public record Verification(String userId, Instant expiresAt) {
+
+        public boolean isVerified() {
+            return userId != null;
+        }
+    }
+
+    private final Cache<String, Verification> cache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ChannelTopic revocationTopic;
+    private final Duration TTL;
+    private final Duration NEGATIVE_TTL;
+
+    /**
+     * Incremented on every revocation. Used to reject verifications started before a concurrent revocation.
+     */
+    private final AtomicLong revocationEpoch;
+
+    TokenVerificationCache(
+            StringRedisTemplate stringRedisTemplate,
+            @Qualifier("tokenRevocationTopic") ChannelTopic revocationTopic,
+            @Qualifier("tokenCacheMaxSize") long maxSize,
+            @Qualifier("tokenCacheTTL") Duration ttl,
+            @Qualifier("tokenCacheNegativeTTL") Duration negativeTtl
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.revocationTopic = revocationTopic;
+        this.revocationEpoch = new AtomicLong(0);
+        TTL = ttl;
+        NEGATIVE_TTL = negativeTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpiryAtVerificationEnd())
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Verification> get(String token) {
+        return Optional.ofNullable(cache.getIfPresent(digest(token)));
+    }
+
+    /**
+     * @return the current revocation epoch, must be taken <u>before</u> requesting the auth service
+     */
+    public long epoch() {
+        return revocationEpoch.get();
+    }
+
+    /**
+     * Caches the verified token if no revocation happened since {@code epoch}.
+     *
+     * @param tokenExpiresAt the {@code exp} claim of the token or {@code null} if it's absent
+     * @param epoch          the value of {@link #epoch()} taken before the token was verified
+     */
+    public void putVerified(String token, String userId, Instant tokenExpiresAt, long epoch) {
+        Instant expiresAt = Instant.now().plus(TTL);
+        if (tokenExpiresAt != null && tokenExpiresAt.isBefore(expiresAt)) {
+            expiresAt = tokenExpiresAt;
+        }
+
+        putIfNotRevoked(digest(token), new Verification(userId, expiresAt), epoch);
+    }
+
+    /**
+     * Caches the rejected token if no revocation happened since {@code epoch}.
+     *
+     * @param epoch the value of {@link #epoch()} taken before the token was verified
+     */
+    public void putRejected(String token, long epoch) {
+        putIfNotRevoked(digest(token), new Verification(null, Instant.now().plus(NEGATIVE_TTL)), epoch);
+    }
+
+    private void putIfNotRevoked(String digest, Verification verification, long epoch) {
+        if (epoch != epoch() || !verification.expiresAt().isAfter(Instant.now())) {
+            return;
+        }
+
+        cache.put(digest, verification);
+
+        // revocation may have happened between the check and the put
+        if (epoch != epoch()) {
+            cache.invalidate(digest);
+        }
+    }
+
+    /**
+     * Drops the token from the caches of this and every other instance.
+     */
+    public void revoke(String token) {
+        String digest = digest(token);
+        invalidate(digest);
+        try {
+            stringRedisTemplate.convertAndSend(revocationTopic.getTopic(), digest);
+        } catch (Exception e) {
+            log.error("Failed to publish revocation of token", e);
+        }
+    }
+
+    public void revokeAll() {
+        revocationEpoch.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "tokenVerificationCache");
+    }
+
+    private void invalidate(String digest) {
+        revocationEpoch.incrementAndGet();
+        cache.invalidate(digest);
+    }
+
+    public static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static class ExpiryAtVerificationEnd implements Expiry<String, Verification> {
+
+        @Override
+        public long expireAfterCreate(String digest, Verification verification, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), verification.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Verification verification, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, verification, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Verification verification, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package vstu.isd.notebin.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+import vstu.isd.notebin.cache.util.NotePatch;
+import vstu.isd.notebin.entity.NoteCacheable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * {@code ValueNoteStore} keeps every note as one serialized value by the key of its URL.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.note.cache-layout", havingValue = "VALUE", matchIfMissing = true)
+public class ValueNoteStore implements NoteStore {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PATCH_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/note-patch.lua"), List.class);
+
+    private static final RedisScript<NoteCacheable> GET_AND_EXPIRE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/note-get-and-expire.lua"), NoteCacheable.class);
+
+    private static final RedisScript<Boolean> COMPARE_AND_SET_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/note-compare-and-set.lua"), Boolean.class);
+
+    private static final int COMPARE_AND_SET_ATTEMPTS = 3;
+
+    private static final String APPLIED = "APPLIED";
+    private static final String NOT_FOUND = "NOT_FOUND";
+
+    private final RedisTemplate<String, NoteCacheable> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisSerializer<NoteCacheable> noteSerializer;
+
+    ValueNoteStore(
+            RedisTemplate<String, NoteCacheable> redisTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            ObjectMapper objectMapper,
+            @Qualifier("noteSerializer") RedisSerializer<NoteCacheable> noteSerializer
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.noteSerializer = noteSerializer;
+    }
+
+    @Override
+    public NoteCacheable get(String url) {
+        return redisTemplate.opsForValue().get(url);
+    }
+
+    @Override
+    public List<NoteCacheable> getAll(List<String> urls) {
+        List<NoteCacheable> notes = redisTemplate.opsForValue().multiGet(urls);
+        return notes != null ? notes : Collections.nCopies(urls.size(), null);
+    }
+
+    @Override
+    public NoteCacheable getAndExpire(String url, Duration ttl) {
+        return redisTemplate.execute(
+                GET_AND_EXPIRE_SCRIPT,
+                RedisSerializer.string(),
+                noteSerializer,
+                List.of(url),
+                String.valueOf(ttl.toMillis())
+        );
+    }
+
+    @Override
+    public NoteCacheable getPreviewAndExpire(String url, Duration ttl) {
+        return getAndExpire(url, ttl);
+    }
+
+    @Override
+    public boolean saveIfAbsent(NoteCacheable note, Duration ttl) {
+        return Boolean.TRUE.equals(
+                ttl != null ?
+                        redisTemplate.opsForValue().setIfAbsent(note.getUrl(), note, ttl)
+                        :
+                        redisTemplate.opsForValue().setIfAbsent(note.getUrl(), note)
+        );
+    }
+
+    @Override
+    public void saveAllIfAbsent(Collection<NoteCacheable> notes, Function<NoteCacheable, Duration> ttl) {
+        redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, NoteCacheable> ops = (RedisOperations<String, NoteCacheable>) operations;
+                notes.forEach(note -> {
+                    Duration noteTTL = ttl.apply(note);
+                    if (noteTTL != null) {
+                        ops.opsForValue().setIfAbsent(note.getUrl(), note, noteTTL);
+                    } else {
+                        ops.opsForValue().setIfAbsent(note.getUrl(), note);
+                    }
+                });
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void expire(String url, Duration ttl) {
+        redisTemplate.expire(url, ttl);
+    }
+
+    /**
+     * Notes stored as JSON are patched by Redis itself, notes of other formats are patched here
+     * and replaced only if they are not changed since they were read.
+     *
+     * @throws OptimisticLockException if the note is changed after every of {@code COMPARE_AND_SET_ATTEMPTS} reads
+     */
+    @Override
+    public NoteCache.PatchResult patch(String url, NotePatch patch) {
+        return noteSerializer instanceof Jackson2JsonRedisSerializer ?
+                patchJson(url, patch)
+                :
+                patchByCompareAndSet(url, patch);
+    }
+
+    @SuppressWarnings("unchecked")
+    private NoteCache.PatchResult patchJson(String url, NotePatch patch) {
+        List<String> result = stringRedisTemplate.execute(
+                PATCH_SCRIPT,
+                List.of(url),
+                toJson(patch.expected()),
+                toJson(patch.fields())
+        );
+
+        if (result == null || result.isEmpty() || NOT_FOUND.equals(result.get(0))) {
+            throw new NoSuchElementException("Note with key `" + url + "` not found");
+        }
+
+        return new NoteCache.PatchResult(APPLIED.equals(result.get(0)), fromJson(result.get(1)));
+    }
+
+    private NoteCache.PatchResult patchByCompareAndSet(String url, NotePatch patch) {
+        byte[] key = url.getBytes(StandardCharsets.UTF_8);
+
+        for (int attempt = 0; attempt < COMPARE_AND_SET_ATTEMPTS; attempt++) {
+            byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(key)
+            );
+            if (value == null) {
+                throw new NoSuchElementException("Note with key `" + url + "` not found");
+            }
+
+            NoteCacheable note = noteSerializer.deserialize(value);
+            if (!patch.matches(note)) {
+                return new NoteCache.PatchResult(false, note);
+            }
+
+            NoteCacheable patched = patch.applyTo(note);
+            Boolean isSet = redisTemplate.execute(
+                    COMPARE_AND_SET_SCRIPT,
+                    RedisSerializer.byteArray(),
+                    null, // a boolean result is not deserialized
+                    List.of(url),
+                    value,
+                    noteSerializer.serialize(patched)
+            );
+            if (Boolean.TRUE.equals(isSet)) {
+                return new NoteCache.PatchResult(true, patched);
+            }
+        }
+
+        throw new OptimisticLockException("Note with key `" + url + "` is concurrently modified");
+    }
+
+    @Override
+    public NoteCacheable getAndDelete(String url) {
+        return redisTemplate.opsForValue().getAndDelete(url);
+    }
+
+    @Override
+    public long deleteAll(Collection<String> urls) {
+        Long deleted = redisTemplate.delete(urls);
+        return deleted != null ? deleted : 0;
+    }
+
+    private String toJson(Map<String, Object> fields) {
+        try {
+            return objectMapper.writeValueAsString(fields);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Could not write fields of note: " + e.getMessage(), e);
+        }
+    }
+
+    private NoteCacheable fromJson(String note) {
+        try {
+            return objectMapper.readValue(note, NoteCacheable.class);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Could not read note: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package vstu.isd.notebin.cache.util;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.NoteCacheable;
+import vstu.isd.notebin.util.ContentCompressor;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Compact binary format of {@link NoteCacheable}.
+ * <p>
+ * A value starts with the version of the format, followed by a bit mask of the present fields and the fields
+ * themselves. Integers are written as varints, strings are prefixed by their length in bytes,
+ * {@link LocalDateTime} and {@link Duration} are written as seconds and nanoseconds, {@link ExpirationType}
+ * as its ordinal, so the order of its constants must be kept. Content is deflated by {@link ContentCompressor}
+ * if it is long enough, that is marked by a separate bit of the mask.
+ * </p>
+ * <p>
+ * The mask also marks notes burning by period, so {@code note-get-and-expire.lua} tells from the mask alone
+ * whether the TTL of a note may be reset, the positions of {@code AVAILABLE} and {@code BURNS_BY_PERIOD} must be kept.
+ * </p>
+ * <p>
+ * Values of other formats are read by the {@code fallback} serializer, so notes written as JSON
+ * before the switch to this format remain readable.
+ * </p>
+ */
+public class BinaryNoteSerializer implements RedisSerializer<NoteCacheable> {
+
+    static final byte VERSION = 1;
+
+    private static final int URL = 1;
+    private static final int ID = 1 << 1;
+    private static final int TITLE = 1 << 2;
+    private static final int CONTENT = 1 << 3;
+    private static final int CREATED_AT = 1 << 4;
+    private static final int EXPIRATION_TYPE = 1 << 5;
+    private static final int EXPIRATION_PERIOD = 1 << 6;
+    private static final int EXPIRATION_FROM = 1 << 7;
+    private static final int USER_ID = 1 << 8;
+    private static final int AVAILABLE = 1 << 9;
+    private static final int CONTENT_COMPRESSED = 1 << 10;
+    private static final int BURNS_BY_PERIOD = 1 << 11;
+
+    private static final ExpirationType[] EXPIRATION_TYPES = ExpirationType.values();
+
+    private final RedisSerializer<NoteCacheable> fallback;
+    private final ContentCompressor contentCompressor;
+
+    public BinaryNoteSerializer(RedisSerializer<NoteCacheable> fallback, ContentCompressor contentCompressor) {
+        this.fallback = fallback;
+        this.contentCompressor = contentCompressor;
+    }
+
+    @Override
+    public byte[] serialize(NoteCacheable note) throws SerializationException {
+        if (note == null) {
+            return null;
+        }
+
+        byte[] url = utf8(note.getUrl());
+        byte[] title = utf8(note.getTitle());
+        byte[] content = utf8(note.getContent());
+        byte[] compressedContent = content != null ? contentCompressor.compress(content) : null;
+        if (compressedContent != null) {
+            content = compressedContent;
+        }
+
+        int fields = (url != null ? URL : 0)
+                | (note.getId() != null ? ID : 0)
+                | (title != null ? TITLE : 0)
+                | (content != null ? CONTENT : 0)
+                | (compressedContent != null ? CONTENT_COMPRESSED : 0)
+                | (note.getCreatedAt() != null ? CREATED_AT : 0)
+                | (note.getExpirationType() != null ? EXPIRATION_TYPE : 0)
+                | (note.getExpirationPeriod() != null ? EXPIRATION_PERIOD : 0)
+                | (note.getExpirationFrom() != null ? EXPIRATION_FROM : 0)
+                | (note.getUserId() != null ? USER_ID : 0)
+                | (note.isAvailable() ? AVAILABLE : 0)
+                | (note.getExpirationType() == ExpirationType.BURN_BY_PERIOD ? BURNS_BY_PERIOD : 0);
+
+        Output out = new Output(64 + length(url) + length(title) + length(content));
+        out.writeByte(VERSION);
+        out.writeVarLong(fields);
+        if (url != null) {
+            out.writeBytes(url);
+        }
+        if (note.getId() != null) {
+            out.writeSignedVarLong(note.getId());
+        }
+        if (title != null) {
+            out.writeBytes(title);
+        }
+        if (content != null) {
+            out.writeBytes(content);
+        }
+        if (note.getCreatedAt() != null) {
+            out.writeDateTime(note.getCreatedAt());
+        }
+        if (note.getExpirationType() != null) {
+            out.writeVarLong(note.getExpirationType().ordinal());
+        }
+        if (note.getExpirationPeriod() != null) {
+            out.writeSignedVarLong(note.getExpirationPeriod().getSeconds());
+            out.writeVarLong(note.getExpirationPeriod().getNano());
+        }
+        if (note.getExpirationFrom() != null) {
+            out.writeDateTime(note.getExpirationFrom());
+        }
+        if (note.getUserId() != null) {
+            out.writeSignedVarLong(note.getUserId());
+        }
+
+        return out.toByteArray();
+    }
+
+    @Override
+    public NoteCacheable deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != VERSION) {
+            return fallback.deserialize(bytes);
+        }
+
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+            long fields = readVarLong(in);
+
+            NoteCacheable note = new NoteCacheable();
+            note.setAvailable((fields & AVAILABLE) != 0);
+            if ((fields & URL) != 0) {
+                note.setUrl(readString(in));
+            }
+            if ((fields & ID) != 0) {
+                note.setId(readSignedVarLong(in));
+            }
+            if ((fields & TITLE) != 0) {
+                note.setTitle(readString(in));
+            }
+            if ((fields & CONTENT) != 0) {
+                note.setContent((fields & CONTENT_COMPRESSED) != 0 ? readCompressedString(in) : readString(in));
+            }
+            if ((fields & CREATED_AT) != 0) {
+                note.setCreatedAt(readDateTime(in));
+            }
+            if ((fields & EXPIRATION_TYPE) != 0) {
+                note.setExpirationType(EXPIRATION_TYPES[(int) readVarLong(in)]);
+            }
+            if ((fields & EXPIRATION_PERIOD) != 0) {
+                note.setExpirationPeriod(Duration.ofSeconds(readSignedVarLong(in), readVarLong(in)));
+            }
+            if ((fields & EXPIRATION_FROM) != 0) {
+                note.setExpirationFrom(readDateTime(in));
+            }
+            if ((fields & USER_ID) != 0) {
+                note.setUserId(readSignedVarLong(in));
+            }
+
+            return note;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new SerializationException("Could not read note: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return NoteCacheable.class;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int length(byte[] value) {
+        return value != null ? value.length : 0;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static long readSignedVarLong(ByteBuffer in) {
+        long zigzag = readVarLong(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private String readCompressedString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        String value = contentCompressor.decompress(in.array(), in.position(), length);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer in) {
+        long seconds = readSignedVarLong(in);
+        int nanos = (int) readVarLong(in);
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static class Output {
+
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) b;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeSignedVarLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeDateTime(LocalDateTime dateTime) {
+            writeSignedVarLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            writeVarLong(dateTime.getNano());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+}
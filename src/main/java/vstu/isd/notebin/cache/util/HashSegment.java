@@ -0,0 +1,38 @@
+package vstu.isd.notebin.cache.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed set of hashes consumed concurrently without locks.
+ * Each hash is returned by {@link #poll()} at most once.
+ */
+public class HashSegment {
+
+    private final String[] hashes;
+    private final AtomicInteger next;
+
+    public HashSegment(List<String> hashes) {
+        this.hashes = hashes.toArray(String[]::new);
+        this.next = new AtomicInteger(0);
+    }
+
+    /**
+     * @return the next hash or {@code null} if the segment is exhausted
+     */
+    public String poll() {
+        if (next.get() >= hashes.length) {
+            return null;
+        }
+        int index = next.getAndIncrement();
+        return index < hashes.length ? hashes[index] : null;
+    }
+
+    public int remaining() {
+        return Math.max(0, hashes.length - next.get());
+    }
+
+    public int size() {
+        return hashes.length;
+    }
+}
@@ -0,0 +1,148 @@
+package vstu.isd.notebin.cache.util;
+
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.NoteCacheable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Names of the serialized fields of {@link NoteCacheable} and their representation in a Redis hash.
+ * <p>
+ * In a hash every field is stored as a string, {@code null} fields are absent.
+ * </p>
+ */
+public final class NoteFields {
+
+    public static final String URL = "url";
+    public static final String ID = "id";
+    public static final String TITLE = "title";
+    public static final String CONTENT = "content";
+    public static final String CREATED_AT = "createdAt";
+    public static final String AVAILABLE = "available";
+    public static final String EXPIRATION_TYPE = "expirationType";
+    public static final String EXPIRATION_PERIOD = "expirationPeriod";
+    public static final String EXPIRATION_FROM = "expirationFrom";
+    public static final String USER_ID = "userId";
+
+    /**
+     * All fields except {@link #CONTENT}
+     */
+    public static final List<String> METADATA = List.of(
+            URL, ID, TITLE, CREATED_AT, AVAILABLE, EXPIRATION_TYPE, EXPIRATION_PERIOD, EXPIRATION_FROM, USER_ID
+    );
+
+    private NoteFields() {
+    }
+
+    public static Map<String, String> toHash(NoteCacheable note) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(URL, note.getUrl());
+        fields.put(ID, note.getId());
+        fields.put(TITLE, note.getTitle());
+        fields.put(CONTENT, note.getContent());
+        fields.put(CREATED_AT, note.getCreatedAt());
+        fields.put(AVAILABLE, note.isAvailable());
+        fields.put(EXPIRATION_TYPE, note.getExpirationType());
+        fields.put(EXPIRATION_PERIOD, note.getExpirationPeriod());
+        fields.put(EXPIRATION_FROM, note.getExpirationFrom());
+        fields.put(USER_ID, note.getUserId());
+
+        Map<String, String> hash = toHashValues(fields);
+        hash.values().removeIf(Objects::isNull);
+
+        return hash;
+    }
+
+    public static Object get(NoteCacheable note, String field) {
+        return switch (field) {
+            case URL -> note.getUrl();
+            case ID -> note.getId();
+            case TITLE -> note.getTitle();
+            case CONTENT -> note.getContent();
+            case CREATED_AT -> note.getCreatedAt();
+            case AVAILABLE -> note.isAvailable();
+            case EXPIRATION_TYPE -> note.getExpirationType();
+            case EXPIRATION_PERIOD -> note.getExpirationPeriod();
+            case EXPIRATION_FROM -> note.getExpirationFrom();
+            case USER_ID -> note.getUserId();
+            default -> throw new IllegalArgumentException("Unknown field of note: " + field);
+        };
+    }
+
+    public static void set(NoteCacheable note, String field, Object value) {
+        switch (field) {
+            case URL -> note.setUrl((String) value);
+            case ID -> note.setId((Long) value);
+            case TITLE -> note.setTitle((String) value);
+            case CONTENT -> note.setContent((String) value);
+            case CREATED_AT -> note.setCreatedAt((LocalDateTime) value);
+            case AVAILABLE -> note.setAvailable((Boolean) value);
+            case EXPIRATION_TYPE -> note.setExpirationType((ExpirationType) value);
+            case EXPIRATION_PERIOD -> note.setExpirationPeriod((Duration) value);
+            case EXPIRATION_FROM -> note.setExpirationFrom((LocalDateTime) value);
+            case USER_ID -> note.setUserId((Long) value);
+            default -> throw new IllegalArgumentException("Unknown field of note: " + field);
+        }
+    }
+
+    /**
+     * @return the note or {@code null} if the hash is empty, absent fields are {@code null}
+     */
+    public static NoteCacheable fromHash(Map<String, String> hash) {
+        if (hash.get(URL) == null) {
+            return null;
+        }
+
+        return NoteCacheable.builder()
+                .url(hash.get(URL))
+                .id(parse(hash.get(ID), Long::valueOf))
+                .title(hash.get(TITLE))
+                .content(hash.get(CONTENT))
+                .createdAt(parse(hash.get(CREATED_AT), LocalDateTime::parse))
+                .isAvailable(Boolean.parseBoolean(hash.get(AVAILABLE)))
+                .expirationType(parse(hash.get(EXPIRATION_TYPE), ExpirationType::valueOf))
+                .expirationPeriod(parse(hash.get(EXPIRATION_PERIOD), Duration::parse))
+                .expirationFrom(parse(hash.get(EXPIRATION_FROM), LocalDateTime::parse))
+                .userId(parse(hash.get(USER_ID), Long::valueOf))
+                .build();
+    }
+
+    /**
+     * @param entries alternating names and values of fields as returned by {@code HGETALL}
+     */
+    public static NoteCacheable fromHashEntries(List<?> entries) {
+        Map<String, String> hash = new HashMap<>();
+        for (int i = 0; i + 1 < entries.size(); i += 2) {
+            hash.put((String) entries.get(i), (String) entries.get(i + 1));
+        }
+        return fromHash(hash);
+    }
+
+    /**
+     * @param fields names of the fields
+     * @param values values of the fields as returned by {@code HMGET}
+     */
+    public static NoteCacheable fromHashValues(List<String> fields, List<?> values) {
+        Map<String, String> hash = new HashMap<>();
+        for (int i = 0; i < fields.size() && i < values.size(); i++) {
+            hash.put(fields.get(i), (String) values.get(i));
+        }
+        return fromHash(hash);
+    }
+
+    /**
+     * @return representations of the values in a hash, {@code null} values are kept
+     */
+    public static Map<String, String> toHashValues(Map<String, Object> fields) {
+        Map<String, String> hash = new HashMap<>();
+        fields.forEach((name, value) -> hash.put(name, value != null ? value.toString() : null));
+        return hash;
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        return value != null ? parser.apply(value) : null;
+    }
+}
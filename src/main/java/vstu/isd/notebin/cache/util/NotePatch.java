@@ -0,0 +1,93 @@
+package vstu.isd.notebin.cache.util;
+
+import vstu.isd.notebin.dto.UpdateNoteRequestDto;
+import vstu.isd.notebin.entity.BaseNote;
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.NoteCacheable;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static vstu.isd.notebin.cache.util.NoteFields.*;
+
+/**
+ * Conditional modification of a cached note applied by Redis in one step.
+ * <p>
+ * Keys of both maps are the names of {@link NoteFields}, values are serialized the same way as the note itself.
+ * The {@code fields} are set only if the current fields of the note are equal to the {@code expected} ones.
+ * </p>
+ */
+public record NotePatch(Map<String, Object> expected, Map<String, Object> fields) {
+
+    /**
+     * @return {@code true} if the fields of the note are equal to the expected ones
+     */
+    public boolean matches(NoteCacheable note) {
+        return expected.entrySet().stream()
+                .allMatch(e -> Objects.equals(NoteFields.get(note, e.getKey()), e.getValue()));
+    }
+
+    /**
+     * Sets the fields of the patch to the note regardless of the expected ones.
+     */
+    public NoteCacheable applyTo(NoteCacheable note) {
+        fields.forEach((field, value) -> NoteFields.set(note, field, value));
+        return note;
+    }
+
+    /**
+     * Makes the note unavailable if its availability and expiration are the same as in the {@code read} note,
+     * so the decision to burn made by the {@code read} note remains correct.
+     * The content of the burned note is dropped, it is kept in the cache only as a tombstone.
+     */
+    public static NotePatch burn(BaseNote read) {
+        Map<String, Object> expected = new HashMap<>();
+        expected.put(AVAILABLE, true);
+        expected.put(EXPIRATION_TYPE, read.getExpirationType());
+        if (read.getExpirationType() == ExpirationType.BURN_BY_PERIOD) {
+            expected.put(EXPIRATION_PERIOD, read.getExpirationPeriod());
+            expected.put(EXPIRATION_FROM, read.getExpirationFrom());
+        }
+
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(AVAILABLE, false);
+        fields.put(CONTENT, null);
+
+        return new NotePatch(expected, fields);
+    }
+
+    /**
+     * Sets the fields present in the request if the note belongs to the requesting user.
+     * Mirrors {@link vstu.isd.notebin.mapper.NoteMapper#fromUpdateRequest}.
+     */
+    public static NotePatch update(UpdateNoteRequestDto updateRequest, LocalDateTime expirationFrom) {
+        Map<String, Object> expected = new HashMap<>();
+        expected.put(USER_ID, updateRequest.getUserId());
+
+        Map<String, Object> fields = new HashMap<>();
+        if (updateRequest.getTitle() != null) {
+            fields.put(TITLE, updateRequest.getTitle());
+        }
+
+        if (updateRequest.getContent() != null) {
+            fields.put(CONTENT, updateRequest.getContent());
+        }
+
+        if (updateRequest.getExpirationType() != null) {
+            fields.put(EXPIRATION_TYPE, updateRequest.getExpirationType());
+            fields.put(EXPIRATION_PERIOD, updateRequest.getExpirationPeriod());
+            fields.put(
+                    EXPIRATION_FROM,
+                    updateRequest.getExpirationType() == ExpirationType.BURN_BY_PERIOD ? expirationFrom : null
+            );
+        }
+
+        if (updateRequest.getIsAvailable() != null) {
+            fields.put(AVAILABLE, updateRequest.getIsAvailable());
+        }
+
+        return new NotePatch(expected, fields);
+    }
+}
@@ -0,0 +1,63 @@
+package vstu.isd.notebin.cache.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent loads of the same key.
+ * <p>
+ * The first caller of {@link #load} for a key becomes the leader and runs the loader, callers arriving
+ * while the load is in flight wait for its result instead of running the loader themselves.
+ * The key is released as soon as the load completes, so results are never cached here.
+ * </p>
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param copy applied to the leader's result before it is returned to a waiting caller,
+     *             so that callers never share a mutable value
+     * @throws RuntimeException thrown by the loader, rethrown to the leader and to every waiting caller
+     */
+    public V load(K key, Supplier<V> loader, UnaryOperator<V> copy) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> leaderCall = inFlight.putIfAbsent(key, call);
+        if (leaderCall != null) {
+            return copy.apply(await(leaderCall));
+        }
+
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
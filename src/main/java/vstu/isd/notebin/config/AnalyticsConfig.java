@@ -0,0 +1,55 @@
+package vstu.isd.notebin.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import vstu.isd.notebin.service.NoteViewRecorder;
+
+import java.time.Duration;
+
+@Configuration
+public class AnalyticsConfig {
+
+    @Value("${spring.analytics.max-urls-per-request}")
+    private int analyticsMaxUrls;
+    @Value("${spring.analytics.view-buffer.capacity}")
+    private int viewBufferCapacity;
+    @Value("${spring.analytics.view-buffer.batch-size}")
+    private int viewBufferBatchSize;
+    @Value("${spring.analytics.view-buffer.overflow-policy:BLOCK}")
+    private NoteViewRecorder.OverflowPolicy viewBufferOverflowPolicy;
+    @Value("${spring.analytics.view-buffer.offer-timeout:50ms}")
+    private Duration viewBufferOfferTimeout;
+    @Value("${spring.analytics.view-buffer.shutdown-policy:FLUSH}")
+    private NoteViewRecorder.ShutdownPolicy viewBufferShutdownPolicy;
+
+    @Bean
+    public int analyticsMaxUrls() {
+        return analyticsMaxUrls;
+    }
+
+    @Bean
+    public int viewBufferCapacity() {
+        return viewBufferCapacity;
+    }
+
+    @Bean
+    public int viewBufferBatchSize() {
+        return viewBufferBatchSize;
+    }
+
+    @Bean
+    public NoteViewRecorder.OverflowPolicy viewBufferOverflowPolicy() {
+        return viewBufferOverflowPolicy;
+    }
+
+    @Bean
+    public Duration viewBufferOfferTimeout() {
+        return viewBufferOfferTimeout;
+    }
+
+    @Bean
+    public NoteViewRecorder.ShutdownPolicy viewBufferShutdownPolicy() {
+        return viewBufferShutdownPolicy;
+    }
+}
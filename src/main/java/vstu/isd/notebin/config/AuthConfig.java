@@ -0,0 +1,69 @@
+package vstu.isd.notebin.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.listener.ChannelTopic;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class AuthConfig {
+
+    @Value("${spring.auth.token-cache.max-size}")
+    private long tokenCacheMaxSize;
+    @Value("${spring.auth.token-cache.ttl}")
+    private Duration tokenCacheTTL;
+    @Value("${spring.auth.token-cache.negative-ttl}")
+    private Duration tokenCacheNegativeTTL;
+    @Value("${spring.auth.token-cache.revocation-channel}")
+    private String tokenRevocationChannel;
+    @Value("${spring.auth.jwks.location}")
+    private String jwksLocation;
+    @Value("${spring.auth.jwks.min-refresh-interval:30s}")
+    private Duration jwksMinRefreshInterval;
+    @Value("${spring.auth.jwks.revocation-check:false}")
+    private boolean jwksRevocationCheck;
+
+    @Bean
+    public long tokenCacheMaxSize() {
+        return tokenCacheMaxSize;
+    }
+
+    @Bean
+    public Duration tokenCacheTTL() {
+        return tokenCacheTTL;
+    }
+
+    @Bean
+    public Duration tokenCacheNegativeTTL() {
+        return tokenCacheNegativeTTL;
+    }
+
+    @Bean
+    public ChannelTopic tokenRevocationTopic() {
+        return new ChannelTopic(tokenRevocationChannel);
+    }
+
+    @Bean
+    public String jwksLocation() {
+        return jwksLocation;
+    }
+
+    @Bean
+    public Duration jwksMinRefreshInterval() {
+        return jwksMinRefreshInterval;
+    }
+
+    @Bean
+    public ExecutorService jwksRefreshExecutor() {
+        return Executors.newSingleThreadExecutor();
+    }
+
+    @Bean
+    public boolean jwksRevocationCheck() {
+        return jwksRevocationCheck;
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -24,6 +25,9 @@ public class HashesConfig {
     @Value("${spring.hashes.cache-exhaustion-percentage:20}")
     private int cacheExhaustionPercentage;
 
+    @Value("${spring.hashes.prefetch-lead-time:10s}")
+    private Duration hashPrefetchLeadTime;
+
     @Bean
     public int HASH_POOL_SIZE() {
         return hashPoolSize;
@@ -48,4 +52,9 @@ public class HashesConfig {
     public int cacheExhaustionPercentage() {
         return cacheExhaustionPercentage;
     }
+
+    @Bean
+    public Duration hashPrefetchLeadTime() {
+        return hashPrefetchLeadTime;
+    }
 }
@@ -0,0 +1,63 @@
+package vstu.isd.notebin.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+
+import java.lang.reflect.Method;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Global listener of all {@code @Retryable} methods.
+     * Counts failed attempts by exception and records the count of attempts per invocation.
+     */
+    @Bean
+    public RetryListener retryMetricsListener(MeterRegistry meterRegistry) {
+        return new RetryListener() {
+            @Override
+            public <T, E extends Throwable> void onError(
+                    RetryContext context,
+                    RetryCallback<T, E> callback,
+                    Throwable throwable
+            ) {
+                Counter.builder("notebin.retry.failed.attempts")
+                        .description("Failed attempts of @Retryable methods")
+                        .tag("method", methodName(callback))
+                        .tag("exception", throwable.getClass().getSimpleName())
+                        .register(meterRegistry)
+                        .increment();
+            }
+
+            @Override
+            public <T, E extends Throwable> void close(
+                    RetryContext context,
+                    RetryCallback<T, E> callback,
+                    Throwable throwable
+            ) {
+                boolean succeeded = throwable == null;
+                DistributionSummary.builder("notebin.retry.attempts")
+                        .description("Attempts per invocation of @Retryable methods")
+                        .tag("method", methodName(callback))
+                        .tag("outcome", succeeded ? "success" : "failure")
+                        .register(meterRegistry)
+                        .record(context.getRetryCount() + (succeeded ? 1 : 0));
+            }
+        };
+    }
+
+    private static String methodName(RetryCallback<?, ?> callback) {
+        if (callback instanceof MethodInvocationRetryCallback<?, ?> invocationCallback) {
+            Method method = invocationCallback.getInvocation().getMethod();
+            return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+        return "unknown";
+    }
+}
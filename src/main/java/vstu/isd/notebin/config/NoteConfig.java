@@ -3,6 +3,9 @@ package vstu.isd.notebin.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.util.unit.DataSize;
+import vstu.isd.notebin.util.ContentCompressor;
 
 import java.time.Duration;
 
@@ -13,10 +16,28 @@ public class NoteConfig {
     private int cacheCapacity;
     @Value("${spring.note.default-ttl}")
     private Duration defaultTTL;
-    @Value("${spring.note.heater-page-size}")
-    private int heaterPageSize;
+    @Value("${spring.note.tombstone-ttl}")
+    private Duration tombstoneTTL;
     @Value("${spring.note.note-page-size}")
     private int notePageSize;
+    @Value("${spring.note.local-cache.max-size}")
+    private DataSize localCacheMaxSize;
+    @Value("${spring.note.local-cache.ttl}")
+    private Duration localCacheTTL;
+    @Value("${spring.note.local-cache.invalidation-channel}")
+    private String localCacheInvalidationChannel;
+    @Value("${spring.note.warm-up.mode}")
+    private String warmUpMode;
+    @Value("${spring.note.warm-up.ready-percentage}")
+    private int warmUpReadyPercentage;
+    @Value("${spring.note.warm-up.chunk-size}")
+    private int warmUpChunkSize;
+    @Value("${spring.note.warm-up.popularity-window}")
+    private Duration warmUpPopularityWindow;
+    @Value("${spring.note.content-compression-threshold}")
+    private DataSize contentCompressionThreshold;
+    @Value("${spring.note.expiration-sweeper.batch-size}")
+    private int expirationSweepBatchSize;
 
     @Bean
     public int cacheNoteCapacity() {
@@ -29,8 +50,38 @@ public class NoteConfig {
     }
 
     @Bean
-    public int heaterPageSize() {
-        return heaterPageSize;
+    public Duration tombstoneTTL() {
+        return tombstoneTTL;
+    }
+
+    /**
+     * Percentage of {@code cacheNoteCapacity} notes to warm up before the instance is ready
+     */
+    @Bean
+    public int cacheWarmUpReadyPercentage() {
+        return switch (warmUpMode) {
+            case "SERVE" -> 0;
+            case "WAIT" -> warmUpReadyPercentage;
+            default -> throw new IllegalStateException("Unexpected value: " + warmUpMode);
+        };
+    }
+
+    @Bean
+    public int cacheWarmUpChunkSize() {
+        return warmUpChunkSize;
+    }
+
+    /**
+     * Notes are warmed up by their views within this window before the warm-up
+     */
+    @Bean
+    public Duration warmUpPopularityWindow() {
+        return warmUpPopularityWindow;
+    }
+
+    @Bean
+    public int expirationSweepBatchSize() {
+        return expirationSweepBatchSize;
     }
 
     @Bean
@@ -42,4 +93,24 @@ public class NoteConfig {
     public int notePageSize() {
         return notePageSize;
     }
+
+    @Bean
+    public DataSize localCacheMaxSize() {
+        return localCacheMaxSize;
+    }
+
+    @Bean
+    public Duration localCacheTTL() {
+        return localCacheTTL;
+    }
+
+    @Bean
+    public ChannelTopic noteInvalidationTopic() {
+        return new ChannelTopic(localCacheInvalidationChannel);
+    }
+
+    @Bean
+    public ContentCompressor contentCompressor() {
+        return new ContentCompressor((int) contentCompressionThreshold.toBytes());
+    }
 }
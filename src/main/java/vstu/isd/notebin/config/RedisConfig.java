@@ -2,6 +2,7 @@ package vstu.isd.notebin.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,9 +13,17 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import vstu.isd.notebin.cache.LocalNoteCache;
+import vstu.isd.notebin.cache.TokenVerificationCache;
+import vstu.isd.notebin.cache.util.BinaryNoteSerializer;
 import vstu.isd.notebin.entity.NoteCacheable;
+import vstu.isd.notebin.util.ContentCompressor;
 
 @Configuration
 public class RedisConfig {
@@ -24,6 +33,8 @@ public class RedisConfig {
     private int port;
     @Value("${spring.data.redis.connection_factory}")
     private String factoryType;
+    @Value("${spring.note.cache-serializer}")
+    private String noteSerializerType;
 
     @Bean
     @Lazy
@@ -56,22 +67,58 @@ public class RedisConfig {
         return mapper;
     }
 
+    @Bean
+    public RedisSerializer<NoteCacheable> noteSerializer(
+            ObjectMapper objectMapper,
+            @Qualifier("contentCompressor") ContentCompressor contentCompressor
+    ) {
+        Jackson2JsonRedisSerializer<NoteCacheable> jsonSerializer =
+                new Jackson2JsonRedisSerializer<>(objectMapper, NoteCacheable.class);
+
+        return switch (noteSerializerType) {
+            case "JSON" -> jsonSerializer;
+            case "BINARY" -> new BinaryNoteSerializer(jsonSerializer, contentCompressor);
+            default -> throw new IllegalStateException("Unexpected value: " + noteSerializerType);
+        };
+    }
+
     @Bean
     RedisTemplate<String, NoteCacheable> redisTemplate(
             RedisConnectionFactory connectionFactory,
-            ObjectMapper objectMapper
+            @Qualifier("noteSerializer") RedisSerializer<NoteCacheable> noteSerializer
     ) {
         return redisTemplateBuilder(
                 connectionFactory,
-                objectMapper,
-                NoteCacheable.class
+                noteSerializer
         );
     }
 
+    @Bean
+    StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+        return new StringRedisTemplate(connectionFactory);
+    }
+
+    /**
+     * One container for all channels, so they share one subscription connection and one thread.
+     */
+    @Bean
+    RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            LocalNoteCache localNoteCache,
+            @Qualifier("noteInvalidationTopic") ChannelTopic noteInvalidationTopic,
+            TokenVerificationCache tokenVerificationCache,
+            @Qualifier("tokenRevocationTopic") ChannelTopic tokenRevocationTopic
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(localNoteCache, noteInvalidationTopic);
+        container.addMessageListener(tokenVerificationCache, tokenRevocationTopic);
+        return container;
+    }
+
     private <T> RedisTemplate<String, T> redisTemplateBuilder(
             RedisConnectionFactory connectionFactory,
-            ObjectMapper mapper,
-            Class<T> type
+            RedisSerializer<T> valueSerializer
     ) {
         RedisTemplate<String, T> redisTemplate = new RedisTemplate<>();
 
@@ -81,9 +128,6 @@ public class RedisConfig {
 
         redisTemplate.setKeySerializer(keySerializer);
 
-        Jackson2JsonRedisSerializer<T> valueSerializer =
-                new Jackson2JsonRedisSerializer<>(mapper, type);
-
         redisTemplate.setValueSerializer(valueSerializer);
         redisTemplate.setHashKeySerializer(keySerializer);
         redisTemplate.setHashValueSerializer(valueSerializer);
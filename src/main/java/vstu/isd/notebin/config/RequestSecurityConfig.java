@@ -49,4 +49,19 @@ public class RequestSecurityConfig {
                 .sessionManagement().disable();
         return http.build();
     }
+
+    /**
+     * Actuator endpoints are served only on {@code management.server.port}, which must not be exposed publicly.
+     */
+    @Bean
+    @Order(2)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher("/actuator/**")
+                .authorizeHttpRequests(authorize -> authorize.anyRequest().permitAll())
+                .cors().disable()
+                .csrf().disable()
+                .httpBasic().disable()
+                .sessionManagement().disable();
+        return http.build();
+    }
 }
@@ -54,6 +54,47 @@ public class AnalyticsController {
                                             }"""
                             )
                     )),
+            @ApiResponse(responseCode = "400",
+                    description = """
+                    Analytics wasn't calculated. It may be: \s
+                    Group of validation exceptions (api error code 801), \s
+                    Validation exception: Urls are not set (api error code 800), \s
+                    Validation exception: Too many urls in request (api error code 807)""",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(
+                                    example = """
+                                            {
+                                                "type": "error",
+                                                "title": "Bad Request",
+                                                "status": 400,
+                                                "detail": "Group validation exception.",
+                                                "instance": "/api/v1/analytics/view-notes",
+                                                "properties": {
+                                                    "date": [
+                                                        2025,
+                                                        2,
+                                                        1,
+                                                        20,
+                                                        9,
+                                                        25,
+                                                        534363200
+                                                    ],
+                                                    "api_error_code": 801,
+                                                    "api_error_name": "GROUP_VALIDATION_EXCEPTION",
+                                                    "args": {},
+                                                    "errors": [
+                                                        {
+                                                            "api_error_code": 807,
+                                                            "api_error_name": "TOO_MANY_URLS",
+                                                            "args": {},
+                                                            "detail": "Too many urls in request. Max count is 100 urls."
+                                                        }
+                                                    ]
+                                                }
+                                            }"""
+                            )
+                    )),
             @ApiResponse(responseCode = "401",
                     description = "Not authorized",
                     content = @Content(
@@ -389,10 +389,15 @@ public class NoteController {
 
     @Operation(
             summary = "Find all user's notes",
-            description = "Allows get all user's notes.",
+            description = "Allows get all user's notes without their content, " +
+                    "the content is received by the url of the note. Notes are listed by `page` number " +
+                    "or, if `cursor` is passed, by `nextCursor` of the previous page, newest first.",
             security = @SecurityRequirement(name = "bearerAuth"),
             parameters = {
-                    @Parameter(name = "url", description = "Unique identifier of the note.", required = true)
+                    @Parameter(name = "page", description = "Number of the page, starts at 0."),
+                    @Parameter(name = "cursor", description = "`nextCursor` of the previous page, " +
+                            "empty for the first page. Total counts are returned only for the first page, " +
+                            "-1 for the next ones.")
             }
     )
     @ApiResponses(value = {
@@ -409,7 +414,6 @@ public class NoteController {
                                                         {
                                                             "url": "2TF",
                                                             "title": "1",
-                                                            "content": "2",
                                                             "createdAt": [
                                                                 2025,
                                                                 1,
@@ -421,12 +425,12 @@ public class NoteController {
                                                             ],
                                                             "expirationType": "NEVER",
                                                             "expirationPeriod": null,
+                                                            "expirationFrom": null,
                                                             "available": false
                                                         },
                                                         {
                                                             "url": "2bJ",
                                                             "title": "1",
-                                                            "content": "2",
                                                             "createdAt": [
                                                                 2025,
                                                                 1,
@@ -438,12 +442,12 @@ public class NoteController {
                                                             ],
                                                             "expirationType": "NEVER",
                                                             "expirationPeriod": null,
+                                                            "expirationFrom": null,
                                                             "available": true
                                                         },
                                                         {
                                                             "url": "2bK",
                                                             "title": "new title",
-                                                            "content": "2",
                                                             "createdAt": [
                                                                 2025,
                                                                 1,
@@ -455,13 +459,15 @@ public class NoteController {
                                                             ],
                                                             "expirationType": "NEVER",
                                                             "expirationPeriod": null,
+                                                            "expirationFrom": null,
                                                             "available": false
                                                         }
                                                     ],
                                                     "page": 0,
                                                     "pageSize": 3,
                                                     "totalPages": 1,
-                                                    "totalElements": 3
+                                                    "totalElements": 3,
+                                                    "nextCursor": null
                                                 }
                                             }"""
                             )
@@ -477,20 +483,21 @@ public class NoteController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/list/me")
-    public GetUserNotesResponseDto<NoteResponseDto> getMyNotes(
+    public GetUserNotesResponseDto<NoteSummaryResponseDto> getMyNotes(
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestAttribute("x-user-id") Long userId
     ) {
-        GetUserNotesResponseDto<NoteDto> userNotesDto = noteService.getUserNotes(
-                new GetUserNotesRequestDto(userId, page)
+        GetUserNotesResponseDto<NoteSummaryDto> userNotesDto = noteService.getUserNotes(
+                new GetUserNotesRequestDto(userId, page, cursor)
         );
 
-        PageResponseDto<NoteResponseDto> pageResponse = noteMapper.fromPageResponseDto(
+        PageResponseDto<NoteSummaryResponseDto> pageResponse = noteMapper.fromPageResponseDto(
                 userNotesDto.getPage(),
-                noteMapper::toNoteResponseDto
+                noteMapper::toNoteSummaryResponseDto
         );
 
-        return GetUserNotesResponseDto.<NoteResponseDto>builder()
+        return GetUserNotesResponseDto.<NoteSummaryResponseDto>builder()
                 .userId(userNotesDto.getUserId())
                 .page(pageResponse)
                 .build();
@@ -1,33 +1,52 @@
 package vstu.isd.notebin.controller.filter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.NumericDate;
 import org.jose4j.jwt.consumer.JwtConsumer;
+import org.jose4j.jwt.consumer.InvalidJwtException;
 import org.jose4j.jwt.consumer.JwtConsumerBuilder;
+import org.jose4j.lang.UnresolvableKeyException;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import vstu.isd.notebin.api.auth.AuthApi;
+import vstu.isd.notebin.api.auth.JwksKeyResolver;
 import vstu.isd.notebin.api.auth.VerifyAccessTokenRequest;
+import vstu.isd.notebin.cache.TokenVerificationCache;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
-
+import java.util.Optional;
+
+/**
+ * {@code JwtAuthFilter} authenticates requests by the access token.
+ * <p>
+ * In the {@code REMOTE} verification mode every token is verified by the auth service.
+ * In the {@code LOCAL} mode the signature is verified by the JWKS of the auth service,
+ * the auth service is requested only for tokens signed by an unknown key or if {@code REVOCATION_CHECK} is enabled.
+ * </p>
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final AuthApi authApi;
+    private final TokenVerificationCache tokenVerificationCache;
     private final String userIdHeaderAttribute;
+    private final MeterRegistry meterRegistry;
+    private final boolean REVOCATION_CHECK;
 
     private final String TOKEN_PREFIX = "Bearer ";
 
@@ -37,6 +56,32 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             .setSkipSignatureVerification()
             .build();
 
+    /**
+     * Verifies signatures by the JWKS, {@code null} in the {@code REMOTE} verification mode
+     */
+    private final JwtConsumer jwtVerifier;
+
+    JwtAuthFilter(
+            AuthApi authApi,
+            TokenVerificationCache tokenVerificationCache,
+            @Qualifier("userIdHeaderAttribute") String userIdHeaderAttribute,
+            MeterRegistry meterRegistry,
+            Optional<JwksKeyResolver> jwksKeyResolver,
+            @Qualifier("jwksRevocationCheck") boolean revocationCheck
+    ) {
+        this.authApi = authApi;
+        this.tokenVerificationCache = tokenVerificationCache;
+        this.userIdHeaderAttribute = userIdHeaderAttribute;
+        this.meterRegistry = meterRegistry;
+        this.jwtVerifier = jwksKeyResolver
+                .map(resolver -> new JwtConsumerBuilder()
+                        .setVerificationKeyResolver(resolver)
+                        .setRequireExpirationTime()
+                        .build())
+                .orElse(null);
+        REVOCATION_CHECK = revocationCheck;
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -71,28 +116,92 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         return header.substring(TOKEN_PREFIX.length());
     }
 
+    /**
+     * Verifies the token locally if possible, otherwise by the auth service unless the result of its verification
+     * is cached. Failures of the auth service aren't cached.
+     */
     private String verifyTokenAndGetUserId(String token) {
         try {
 
-            JwtClaims claims = getClaims(token); // also throw exception if token is expired or in invalid format
+            Optional<JwtClaims> verifiedClaims = verifySignature(token);
+            // also throw exception if token is expired or in invalid format
+            JwtClaims claims = verifiedClaims.isPresent() ? verifiedClaims.get() : getClaims(token);
 
             if (!claimsContainsMandatoryFields(claims)) {
                 return null;
             }
 
-            boolean isTokenValid = false;
-            try {
-                isTokenValid = authApi.verifyAccessToken(new VerifyAccessTokenRequest(token));
-            } catch (Exception e) {
-                log.error("Failed to verify token", e);
+            if (verifiedClaims.isPresent() && !REVOCATION_CHECK) {
+                return getUserId(claims);
             }
 
-            return isTokenValid ? getUserId(claims) : null;
+            Optional<TokenVerificationCache.Verification> cached = tokenVerificationCache.get(token);
+            if (cached.isPresent()) {
+                return cached.get().userId();
+            }
+
+            long epoch = tokenVerificationCache.epoch();
+            Boolean isTokenValid = verifyToken(token);
+            if (isTokenValid == null) {
+                return null;
+            }
+
+            if (!isTokenValid) {
+                tokenVerificationCache.putRejected(token, epoch);
+                return null;
+            }
+
+            String userId = getUserId(claims);
+            tokenVerificationCache.putVerified(token, userId, getExpirationTime(claims), epoch);
+            return userId;
         } catch (Exception e) {
             return null;
         }
     }
 
+    /**
+     * @return the verdict of the auth service or {@code null} if the auth service failed
+     */
+    private Boolean verifyToken(String token) {
+        Boolean isTokenValid = null;
+        String result = "error";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            isTokenValid = Boolean.TRUE.equals(authApi.verifyAccessToken(new VerifyAccessTokenRequest(token)));
+            result = isTokenValid ? "valid" : "invalid";
+        } catch (Exception e) {
+            log.error("Failed to verify token", e);
+        } finally {
+            sample.stop(
+                    Timer.builder("notebin.auth.verification")
+                            .description("Latency of token verification by the auth service")
+                            .tag("result", result)
+                            .register(meterRegistry)
+            );
+        }
+        return isTokenValid;
+    }
+
+    /**
+     * @return claims of the token signed by a key of the JWKS,
+     * or empty if the key is unknown or the verification mode is {@code REMOTE}
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    private Optional<JwtClaims> verifySignature(String token) {
+        if (jwtVerifier == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(jwtVerifier.processToClaims(token));
+        } catch (InvalidJwtException e) {
+            if (e.getCause() instanceof UnresolvableKeyException) {
+                return Optional.empty();
+            }
+            throw new IllegalArgumentException("Invalid token", e);
+        }
+    }
+
     private JwtClaims getClaims(String token) {
         try {
             return jwtParser.processToClaims(token);
@@ -107,6 +216,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 claims.getIssuedAt() != null;
     }
 
+    private Instant getExpirationTime(JwtClaims claims) throws MalformedClaimException {
+        NumericDate expirationTime = claims.getExpirationTime();
+        return expirationTime != null ? Instant.ofEpochMilli(expirationTime.getValueInMillis()) : null;
+    }
+
     private String getUserId(JwtClaims claims) {
         if (!claims.hasClaim(USER_ID_TOKEN_KEY)) {
             throw new IllegalArgumentException("user_id is not present in token");
@@ -10,4 +10,13 @@ import lombok.NoArgsConstructor;
 public class GetUserNotesRequestDto {
     private Long userId;
     private int page;
+    /**
+     * Encoded {@link vstu.isd.notebin.util.NoteCursor} to list notes by keyset instead of {@code page},
+     * empty for the first page, {@code null} to list by {@code page}
+     */
+    private String cursor;
+
+    public GetUserNotesRequestDto(Long userId, int page) {
+        this(userId, page, null);
+    }
 }
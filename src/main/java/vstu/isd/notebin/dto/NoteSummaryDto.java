@@ -0,0 +1,24 @@
+package vstu.isd.notebin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import vstu.isd.notebin.entity.ExpirationType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class NoteSummaryDto {
+    private String url;
+    private String title;
+    private LocalDateTime createdAt;
+    private boolean isAvailable;
+    private ExpirationType expirationType;
+    private Duration expirationPeriod;
+    private LocalDateTime expirationFrom;
+}
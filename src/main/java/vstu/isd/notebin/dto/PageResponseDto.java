@@ -17,4 +17,9 @@ public class PageResponseDto<D> {
     private long pageSize;
     private long totalPages;
     private long totalElements;
+    /**
+     * Cursor of the next page if the page is listed by cursor and it isn't the last one.
+     * Pages listed by cursor have {@code totalPages} and {@code totalElements} only if they are first, otherwise -1
+     */
+    private String nextCursor;
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package vstu.isd.notebin.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.ColumnDefault;
+import vstu.isd.notebin.util.converter.CompressedContentConverter;
 import vstu.isd.notebin.util.converter.DurationToIntervalConverter;
 
 import java.time.Duration;
@@ -24,7 +25,8 @@ public class Note extends BaseNote {
     @Column(name = "title", length = 128, nullable = false)
     private String title;
 
-    @Column(name = "content", nullable = false, length = Integer.MAX_VALUE)
+    @Column(name = "content", nullable = false)
+    @Convert(converter = CompressedContentConverter.class)
     private String content;
 
     @ColumnDefault("CURRENT_TIMESTAMP")
@@ -56,6 +58,18 @@ public class Note extends BaseNote {
     @Column(name = "user_id")
     private Long userId;
 
+    /**
+     * Derived from the expiration fields by {@link #updateExpireAt()}, used to find expired notes
+     */
+    @Column(name = "expire_at")
+    private LocalDateTime expireAt;
+
+    @PrePersist
+    @PreUpdate
+    void updateExpireAt() {
+        expireAt = getExpirationType() == ExpirationType.BURN_BY_PERIOD ? expireAt() : null;
+    }
+
     @Override
     public Long getId() {
         return id;
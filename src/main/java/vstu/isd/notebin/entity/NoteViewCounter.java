@@ -0,0 +1,28 @@
+package vstu.isd.notebin.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Count of views of the note, maintained incrementally on every recorded view.
+ */
+@ToString
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Getter
+@Setter
+@Table(name = "note_view_counter")
+public class NoteViewCounter {
+
+    @Id
+    @Column(name = "note_id", nullable = false)
+    private Long noteId;
+
+    @Column(name = "user_views", nullable = false)
+    private Long userViews;
+
+    @Column(name = "anonymous_views", nullable = false)
+    private Long anonymousViews;
+}
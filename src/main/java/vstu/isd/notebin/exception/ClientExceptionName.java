@@ -33,6 +33,9 @@ public enum ClientExceptionName {
     ),
     EMPTY_UPDATE_REQUEST(
         806
+    ),
+    TOO_MANY_URLS(
+            807
     );
 
     private final int apiErrorCode;
@@ -0,0 +1,81 @@
+package vstu.isd.notebin.generator;
+
+import java.util.Arrays;
+
+/**
+ * Base62 codec of non-negative numbers, the most significant digit goes first and leading zeros are omitted.
+ * <p>
+ * {@link #encode(long, char[])} writes digits into a caller-owned buffer of {@link #MAX_LENGTH} chars,
+ * so that encoding a lot of numbers allocates nothing but the resulting strings.
+ * </p>
+ */
+public final class Base62 {
+
+    /**
+     * Length of {@link Long#MAX_VALUE} in Base62
+     */
+    public static final int MAX_LENGTH = 11;
+
+    private static final int BASE = 62;
+    private static final char[] DIGITS =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < DIGITS.length; i++) {
+            VALUES[DIGITS[i]] = (byte) i;
+        }
+    }
+
+    private Base62() {
+    }
+
+    public static String encode(long num) {
+        char[] buffer = new char[MAX_LENGTH];
+        int start = encode(num, buffer);
+        return new String(buffer, start, MAX_LENGTH - start);
+    }
+
+    /**
+     * Writes digits of {@code num} to the end of {@code buffer}.
+     *
+     * @param buffer array of at least {@link #MAX_LENGTH} chars
+     * @return index of the first digit in {@code buffer}, digits occupy {@code [start, MAX_LENGTH)}
+     */
+    public static int encode(long num, char[] buffer) {
+        if (num < 0) {
+            throw new IllegalArgumentException("num must be non-negative: " + num);
+        }
+
+        int pos = MAX_LENGTH;
+        do {
+            buffer[--pos] = DIGITS[(int) (num % BASE)];
+            num /= BASE;
+        } while (num > 0);
+
+        return pos;
+    }
+
+    public static long decode(CharSequence base62) {
+        int length = base62.length();
+        if (length == 0 || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Invalid Base62 length: " + length);
+        }
+
+        long num = 0;
+        for (int i = 0; i < length; i++) {
+            char c = base62.charAt(i);
+            int value = c < VALUES.length ? VALUES[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid Base62 char '" + c + "' in " + base62);
+            }
+            if (num > (Long.MAX_VALUE - value) / BASE) {
+                throw new IllegalArgumentException("Base62 value is out of range: " + base62);
+            }
+            num = num * BASE + value;
+        }
+
+        return num;
+    }
+}
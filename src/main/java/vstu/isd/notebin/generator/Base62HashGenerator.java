@@ -4,13 +4,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import vstu.isd.notebin.repository.UniqueRangeRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 public class Base62HashGenerator implements HashGenerator {
-    private final static String BASE_62_CHARS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
 
     private final UniqueRangeRepository uniqueRangeRepository;
 
@@ -22,21 +22,13 @@ public class Base62HashGenerator implements HashGenerator {
 
         List<Long> uniqueRange = uniqueRangeRepository.getNextUniqueRange(amount);
 
-        Stream<Long> uniqueNumStream = amount <= 3_000 ?
-                uniqueRange.stream() : uniqueRange.parallelStream();
-
-        return uniqueNumStream
-                .map(this::applyBase62Encode);
-    }
-
-    private String applyBase62Encode(long num) {
-        StringBuilder base62 = new StringBuilder();
-        while (num > 0) {
-            int remainder = (int)(num % BASE_62_CHARS.length());
-            base62.insert(0, BASE_62_CHARS.charAt(remainder));
-            num /= BASE_62_CHARS.length();
+        char[] buffer = new char[Base62.MAX_LENGTH];
+        List<String> hashes = new ArrayList<>(uniqueRange.size());
+        for (long num : uniqueRange) {
+            int start = Base62.encode(num, buffer);
+            hashes.add(new String(buffer, start, Base62.MAX_LENGTH - start));
         }
 
-        return base62.toString();
+        return hashes.stream();
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package vstu.isd.notebin.generator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import vstu.isd.notebin.repository.UniqueRangeRepository;
+import vstu.isd.notebin.repository.result.UniqueBlock;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code SequenceBlockUrlGenerator} generates urls from a block of the sequence reserved by one call to the DB.
+ * <p>
+ * Numbers of the block are Base62-encoded on demand, the {@code hash} table isn't used.
+ * Numbers of a block left unused on shutdown are lost.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.hashes.url-generation-mode", havingValue = "SEQUENCE_BLOCK")
+public class SequenceBlockUrlGenerator implements UrlGenerator {
+
+    private final UniqueRangeRepository uniqueRangeRepository;
+
+    private volatile Block block;
+
+    SequenceBlockUrlGenerator(UniqueRangeRepository uniqueRangeRepository) {
+        this.uniqueRangeRepository = uniqueRangeRepository;
+        this.block = new Block(new UniqueBlock(0, 0));
+    }
+
+    @Override
+    public String generateUrl() {
+        while (true) {
+            Block current = block;
+
+            long num = current.next();
+            if (num >= 0) {
+                return Base62.encode(num);
+            }
+
+            reserveNextBlock(current);
+        }
+    }
+
+    private synchronized void reserveNextBlock(Block exhausted) {
+        if (block != exhausted) {
+            return;
+        }
+
+        UniqueBlock reserved = uniqueRangeRepository.getNextUniqueBlock();
+        log.debug("Reserved block of urls [{}, {})", reserved.start(), reserved.end());
+        block = new Block(reserved);
+    }
+
+    private static class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        Block(UniqueBlock uniqueBlock) {
+            this.next = new AtomicLong(uniqueBlock.start());
+            this.end = uniqueBlock.end();
+        }
+
+        /**
+         * @return the next number of the block or {@code -1} if the block is exhausted
+         */
+        long next() {
+            if (next.get() >= end) {
+                return -1;
+            }
+            long num = next.getAndIncrement();
+            return num < end ? num : -1;
+        }
+    }
+}
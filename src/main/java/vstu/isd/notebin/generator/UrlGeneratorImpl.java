@@ -1,10 +1,12 @@
 package vstu.isd.notebin.generator;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import vstu.isd.notebin.cache.HashCache;
 
 @Component
+@ConditionalOnProperty(name = "spring.hashes.url-generation-mode", havingValue = "HASH_POOL", matchIfMissing = true)
 @RequiredArgsConstructor
 public class UrlGeneratorImpl implements UrlGenerator {
 
@@ -6,6 +6,7 @@ import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 import vstu.isd.notebin.dto.*;
 import vstu.isd.notebin.entity.*;
+import vstu.isd.notebin.repository.result.NoteSummary;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -39,6 +40,7 @@ public interface NoteMapper {
                 .pageSize(page.getPageSize())
                 .totalPages(page.getTotalPages())
                 .totalElements(page.getTotalElements())
+                .nextCursor(page.getNextCursor())
                 .content(
                         page.getContent().stream()
                                 .map(map)
@@ -105,6 +107,7 @@ public interface NoteMapper {
     NoteViewResponseDto toNoteViewResponseDto(ViewNote viewNote);
 
     @Mapping(source = "available", target = "isAvailable")
+    @Mapping(target = "expireAt", ignore = true)
     Note toNote(NoteDto noteDto);
 
     default Map<String, ViewAnalyticsDto> toMapStringToViewNote(Map<String, Optional<ViewAnalyticsDto>> noteMap) {
@@ -117,4 +120,10 @@ public interface NoteMapper {
     }
 
     NotePreviewDto toNotePreviewDto(NoteCacheable noteCacheable);
+
+    @Mapping(source = "available", target = "isAvailable")
+    NoteSummaryDto toSummaryDto(NoteSummary noteSummary);
+
+    @Mapping(source = "available", target = "isAvailable")
+    NoteSummaryResponseDto toNoteSummaryResponseDto(NoteSummaryDto noteSummaryDto);
 }
\ No newline at end of file
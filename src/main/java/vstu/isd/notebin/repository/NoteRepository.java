@@ -1,23 +1,37 @@
 package vstu.isd.notebin.repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import vstu.isd.notebin.entity.Note;
 import org.springframework.data.jpa.repository.JpaRepository;
+import vstu.isd.notebin.repository.result.NoteIdentity;
+import vstu.isd.notebin.repository.result.NoteSummary;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 @Repository
 public interface NoteRepository extends JpaRepository<Note, Long> {
     Optional<Note> findByUrl(String url);
 
+    List<NoteIdentity> findByUrlIn(Collection<String> urls);
+
     void deleteByUrl(String url);
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -39,5 +53,127 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
         return updated;
     }
 
+    /**
+     * Makes the note unavailable if it must be burned by its current expiration: it is available
+     * and either burns after read or is expired by period at {@code now}.
+     * <p>
+     * ATTENTION: the note is burned even if its expiration type differs from the one the caller has read.
+     * </p>
+     *
+     * <p>
+     * Runs in the transaction of the caller, which must not be rolled back when the note turns out unavailable.
+     * </p>
+     *
+     * @return {@code 1} if the note is burned, {@code 0} if it doesn't exist or mustn't be burned
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            update note set is_available = false
+            where url = :url
+                and is_available
+                and (expiration_type = 'BURN_AFTER_READ'
+                    or (expiration_type = 'BURN_BY_PERIOD' and expire_at < :now))
+            """)
+    int burn(@Param("url") String url, @Param("now") LocalDateTime now);
+
     Page<Note> findByUserId(Long userId, Pageable pageable);
-}
+
+    long countByUserId(Long userId);
+
+    String SUMMARY = """
+            select new vstu.isd.notebin.repository.result.NoteSummary(
+                n.id, n.url, n.title, n.createdAt, n.isAvailable,
+                n.expirationType, n.expirationPeriod, n.expirationFrom
+            )
+            from Note n
+            """;
+
+    @Query(
+            value = SUMMARY + "where n.userId = :userId",
+            countQuery = "select count(n) from Note n where n.userId = :userId"
+    )
+    Page<NoteSummary> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SUMMARY + """
+            where n.userId = :userId
+            order by n.createdAt desc, n.id
+            """)
+    List<NoteSummary> findLatestSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Notes of the user following the note with the {@code createdAt} and {@code id}
+     * in the order of {@code createdAt desc, id}
+     */
+    @Query(SUMMARY + """
+            where n.userId = :userId
+                and (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id > :id))
+            order by n.createdAt desc, n.id
+            """)
+    List<NoteSummary> findSummariesByUserIdAfter(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            Pageable pageable
+    );
+
+    /**
+     * Available and not expired notes ordered by the count of their views after {@code viewedAfter},
+     * the most viewed first, followed by the notes not viewed since then. Notes with equal counts are ordered by id.
+     * <p>
+     * Only views of the window are aggregated, the rest of the notes are read by id until {@code limit},
+     * so neither all views nor all notes are sorted.
+     * </p>
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "50"))
+    @Query(nativeQuery = true, value = """
+            with recent as (
+                select note_id, count(*) as views
+                from view_note
+                where viewed_at > :viewedAfter
+                group by note_id
+            ),
+            ranked as (
+                (select n.id, r.views
+                from recent r
+                join note n on n.id = r.note_id
+                where n.is_available
+                    and (n.expire_at is null or n.expire_at > now())
+                order by r.views desc, n.id
+                limit :limit)
+                union all
+                (select n.id, 0
+                from note n
+                where n.is_available
+                    and (n.expire_at is null or n.expire_at > now())
+                    and not exists (select 1 from recent r where r.note_id = n.id)
+                order by n.id
+                limit :limit)
+            )
+            select n.* from ranked r
+            join note n on n.id = r.id
+            order by r.views desc, n.id
+            limit :limit
+            """)
+    Stream<Note> streamMostViewedAvailable(@Param("viewedAfter") LocalDateTime viewedAfter, @Param("limit") int limit);
+
+    /**
+     * Makes up to {@code limit} available notes expired by period unavailable, the earliest expired first.
+     * Notes locked by other transactions are skipped, so concurrent sweeps do not wait for each other.
+     *
+     * @return urls of the notes made unavailable
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            update note set is_available = false
+            where id in (
+                select id from note
+                where is_available and expire_at <= now()
+                order by expire_at
+                limit :limit
+                for update skip locked
+            )
+            returning url
+            """)
+    List<String> burnExpired(@Param("limit") int limit);
+}
\ No newline at end of file
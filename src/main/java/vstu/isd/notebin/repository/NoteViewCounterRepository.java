@@ -0,0 +1,91 @@
+package vstu.isd.notebin.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import vstu.isd.notebin.entity.NoteViewCounter;
+
+@Repository
+public interface NoteViewCounterRepository extends JpaRepository<NoteViewCounter, Long> {
+
+    @Modifying
+    @Query(
+            nativeQuery = true, value = """
+            insert into note_view_counter (note_id, user_views, anonymous_views)
+            values (:noteId, :userViews, :anonymousViews)
+            on conflict (note_id) do update
+            set user_views = note_view_counter.user_views + excluded.user_views,
+                anonymous_views = note_view_counter.anonymous_views + excluded.anonymous_views
+            """
+    )
+    void increment(
+            @Param("noteId") Long noteId,
+            @Param("userViews") long userViews,
+            @Param("anonymousViews") long anonymousViews
+    );
+
+    /**
+     * Takes the lock of the rebuild of counters until the end of the transaction,
+     * so counters are rebuilt by one instance at a time.
+     *
+     * @return {@code false} if the lock is held by another transaction
+     */
+    @Query(nativeQuery = true, value = "select pg_try_advisory_xact_lock(hashtext('note_view_counter_rebuild'))")
+    boolean tryLockRebuild();
+
+    @Query(
+            nativeQuery = true, value = """
+            select greatest(
+                (select coalesce(max(note_id), 0) from view_note),
+                (select coalesce(max(note_id), 0) from note_view_counter)
+            )
+            """
+    )
+    long findMaxNoteId();
+
+    /**
+     * Corrects counters of notes with {@code from <= note_id < to} by views of the {@code view_note} table.
+     * Counters of notes without views are reset.
+     * <p>
+     * Recording of views isn't blocked: views and counters are read from one snapshot and every counter
+     * is shifted by its difference from the views, so increments committed after the snapshot are kept.
+     * Runs in its own transaction, so counters are locked only while their range is corrected.
+     * </p>
+     *
+     * @return the number of corrected counters
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(
+            nativeQuery = true, value = """
+            with counted as (
+                select note_id, count(user_id) as user_views, count(*) - count(user_id) as anonymous_views
+                from view_note
+                where note_id >= :from and note_id < :to
+                group by note_id
+            ), counters as (
+                select note_id, user_views, anonymous_views
+                from note_view_counter
+                where note_id >= :from and note_id < :to
+            ), drift as (
+                select coalesce(counted.note_id, counters.note_id) as note_id,
+                    coalesce(counted.user_views, 0) - coalesce(counters.user_views, 0) as user_views,
+                    coalesce(counted.anonymous_views, 0) - coalesce(counters.anonymous_views, 0) as anonymous_views
+                from counted
+                full join counters on counters.note_id = counted.note_id
+            )
+            insert into note_view_counter (note_id, user_views, anonymous_views)
+            select note_id, user_views, anonymous_views
+            from drift
+            where user_views <> 0 or anonymous_views <> 0
+            on conflict (note_id) do update
+            set user_views = note_view_counter.user_views + excluded.user_views,
+                anonymous_views = note_view_counter.anonymous_views + excluded.anonymous_views
+            """
+    )
+    int rebuildRange(@Param("from") long from, @Param("to") long to);
+}
@@ -1,7 +1,14 @@
 package vstu.isd.notebin.repository;
 
+import vstu.isd.notebin.repository.result.UniqueBlock;
+
 import java.util.List;
 
 public interface UniqueRangeRepository {
     List<Long> getNextUniqueRange(int size);
+
+    /**
+     * Reserves the next block of {@code unique_block_seq}, the size of the block is the increment of the sequence.
+     */
+    UniqueBlock getNextUniqueBlock();
 }
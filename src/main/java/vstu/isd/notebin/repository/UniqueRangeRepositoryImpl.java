@@ -3,6 +3,7 @@ package vstu.isd.notebin.repository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import vstu.isd.notebin.repository.result.UniqueBlock;
 
 import java.util.List;
 
@@ -17,4 +18,17 @@ public class UniqueRangeRepositoryImpl implements UniqueRangeRepository {
         String q = "SELECT nextval('unique_hash_number_seq') FROM generate_series(1, ?) FOR UPDATE";
         return jdbcTemplate.queryForList(q, Long.class, size);
     }
-}
\ No newline at end of file
+
+    @Override
+    public UniqueBlock getNextUniqueBlock() {
+        String q = """
+                SELECT nextval('unique_block_seq') AS start, increment_by AS size
+                FROM pg_sequences
+                WHERE schemaname = current_schema() AND sequencename = 'unique_block_seq'
+                """;
+        return jdbcTemplate.queryForObject(
+                q,
+                (rs, rowNum) -> new UniqueBlock(rs.getLong("start"), rs.getInt("size"))
+        );
+    }
+}
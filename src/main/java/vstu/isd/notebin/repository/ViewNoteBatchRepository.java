@@ -0,0 +1,15 @@
+package vstu.isd.notebin.repository;
+
+import vstu.isd.notebin.entity.ViewNote;
+
+import java.util.List;
+
+public interface ViewNoteBatchRepository {
+    /**
+     * Inserts views in one statement. A view of an authorized user is skipped
+     * if the user has already viewed the note. Counters of the notes are incremented by the inserted views.
+     *
+     * @return count of inserted views
+     */
+    int insertAllIfNotViewed(List<ViewNote> views);
+}
@@ -0,0 +1,65 @@
+package vstu.isd.notebin.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import vstu.isd.notebin.entity.ViewNote;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ViewNoteBatchRepositoryImpl implements ViewNoteBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertAllIfNotViewed(List<ViewNote> views) {
+        if (views.isEmpty()) {
+            return 0;
+        }
+
+        String q = """
+                WITH inserted AS (
+                    INSERT INTO view_note (user_id, note_id, viewed_at)
+                    SELECT v.user_id, v.note_id, v.viewed_at
+                    FROM unnest(?::bigint[], ?::bigint[], ?::timestamp[]) AS v(user_id, note_id, viewed_at)
+                    WHERE v.user_id IS NULL
+                       OR NOT EXISTS (
+                            SELECT 1 FROM view_note e
+                            WHERE e.note_id = v.note_id AND e.user_id = v.user_id
+                       )
+                    RETURNING user_id, note_id
+                ), counted AS (
+                    INSERT INTO note_view_counter (note_id, user_views, anonymous_views)
+                    SELECT note_id, count(user_id), count(*) - count(user_id)
+                    FROM inserted
+                    GROUP BY note_id
+                    ON CONFLICT (note_id) DO UPDATE
+                    SET user_views = note_view_counter.user_views + EXCLUDED.user_views,
+                        anonymous_views = note_view_counter.anonymous_views + EXCLUDED.anonymous_views
+                )
+                SELECT count(*) FROM inserted
+                """;
+
+        Integer inserted = jdbcTemplate.query(q, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf(
+                    "bigint",
+                    views.stream().map(ViewNote::getUserId).toArray()
+            ));
+            ps.setArray(2, connection.createArrayOf(
+                    "bigint",
+                    views.stream().map(ViewNote::getNoteId).toArray()
+            ));
+            ps.setArray(3, connection.createArrayOf(
+                    "timestamp",
+                    views.stream().map(v -> Timestamp.valueOf(v.getViewedAt())).toArray()
+            ));
+        }, rs -> rs.next() ? rs.getInt(1) : 0);
+
+        return inserted == null ? 0 : inserted;
+    }
+}
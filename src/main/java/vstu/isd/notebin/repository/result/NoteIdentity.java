@@ -0,0 +1,7 @@
+package vstu.isd.notebin.repository.result;
+
+public interface NoteIdentity {
+    Long getId();
+
+    String getUrl();
+}
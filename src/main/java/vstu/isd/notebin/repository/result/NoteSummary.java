@@ -0,0 +1,24 @@
+package vstu.isd.notebin.repository.result;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import vstu.isd.notebin.entity.ExpirationType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Fields of a note required for listing, without its content.
+ */
+@Data
+@RequiredArgsConstructor
+public class NoteSummary {
+    private final Long id;
+    private final String url;
+    private final String title;
+    private final LocalDateTime createdAt;
+    private final boolean isAvailable;
+    private final ExpirationType expirationType;
+    private final Duration expirationPeriod;
+    private final LocalDateTime expirationFrom;
+}
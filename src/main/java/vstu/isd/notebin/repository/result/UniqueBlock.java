@@ -0,0 +1,11 @@
+package vstu.isd.notebin.repository.result;
+
+/**
+ * Contiguous range of unique numbers {@code [start, start + size)}.
+ */
+public record UniqueBlock(long start, int size) {
+
+    public long end() {
+        return start + size;
+    }
+}
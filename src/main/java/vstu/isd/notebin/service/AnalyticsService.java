@@ -1,26 +1,29 @@
 package vstu.isd.notebin.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vstu.isd.notebin.cache.NoteCache;
 import vstu.isd.notebin.dto.NoteViewRequestDto;
 import vstu.isd.notebin.dto.NoteViewResponseDto;
 import vstu.isd.notebin.dto.ViewAnalyticsDto;
-import vstu.isd.notebin.entity.Note;
-import vstu.isd.notebin.entity.NoteCacheable;
 import vstu.isd.notebin.entity.ViewNote;
 import vstu.isd.notebin.mapper.NoteMapper;
 import vstu.isd.notebin.repository.NoteRepository;
+import vstu.isd.notebin.repository.NoteViewCounterRepository;
 import vstu.isd.notebin.repository.ViewNoteRepository;
+import vstu.isd.notebin.validation.NoteValidator;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AnalyticsService {
 
+    private static final int COUNTERS_REBUILD_RANGE = 10_000;
+
     private final ViewNoteRepository viewNoteRepository;
 
     private final NoteMapper noteMapper;
@@ -29,6 +32,12 @@ public class AnalyticsService {
 
     private final NoteRepository noteRepository;
 
+    private final NoteViewRecorder noteViewRecorder;
+
+    private final NoteViewCounterRepository noteViewCounterRepository;
+
+    private final NoteValidator noteValidator;
+
     @Transactional
     public NoteViewResponseDto createNoteView(NoteViewRequestDto noteViewRequestDto) {
 
@@ -50,6 +59,11 @@ public class AnalyticsService {
         if (userView.isEmpty()) {
             ViewNote viewNoteWithoutId = noteMapper.toViewNote(noteViewRequestDto);
             ViewNote viewNote = viewNoteRepository.save(viewNoteWithoutId);
+            noteViewCounterRepository.increment(
+                    viewNote.getNoteId(),
+                    isAnonymousView ? 0 : 1,
+                    isAnonymousView ? 1 : 0
+            );
             viewNoteResponse = noteMapper.toNoteViewResponseDto(viewNote);
         } else {
             viewNoteResponse = noteMapper.toNoteViewResponseDto(userView.get());
@@ -58,38 +72,93 @@ public class AnalyticsService {
         return viewNoteResponse;
     }
 
+    /**
+     * Records the view in background, unlike {@link #createNoteView(NoteViewRequestDto)}.
+     * The view becomes visible in analytics after the next flush of {@link NoteViewRecorder}.
+     */
+    public void recordNoteView(NoteViewRequestDto noteViewRequestDto) {
+
+        if (noteViewRequestDto.getNoteId() == null) {
+            throw new IllegalArgumentException("noteId in NoteViewRequest can't be null.");
+        }
+
+        noteViewRecorder.record(noteViewRequestDto);
+    }
+
+    /**
+     * Resolves analytics of all notes with a constant count of requests to storages:
+     * one request to the cache, one to the note table for notes missing in the cache
+     * and one to the view counters.
+     */
     // TODO in future replace to Set or some dto
     public Map<String, Optional<ViewAnalyticsDto>> getNotesViewAnalytics(Collection<String> urls) {
-        return urls.stream()
-                .collect(Collectors.toMap(
-                        url -> url,
-                        url -> {
-                            Long idOfNote = getNoteId(url);
-                            return idOfNote == null ? Optional.empty() : Optional.ofNullable(getNoteViewAnalytics(idOfNote));
-                        }
-                ));
+
+        noteValidator.validateGetViewsNoteRequestUrls(urls).ifPresent(e -> {
+            throw e;
+        });
+
+        Set<String> requestedUrls = new LinkedHashSet<>(urls);
+        Map<String, Long> noteIds = getNoteIds(requestedUrls);
+        Map<Long, ViewAnalyticsDto> viewAnalytics = getNotesViewAnalyticsByIds(noteIds.values());
+
+        Map<String, Optional<ViewAnalyticsDto>> result = new LinkedHashMap<>();
+        requestedUrls.forEach(url -> result.put(
+                url,
+                Optional.ofNullable(noteIds.get(url)).map(viewAnalytics::get)
+        ));
+
+        return result;
     }
 
-    private Long getNoteId(String url) {
-        return noteCache.get(url)
-                .map(NoteCacheable::getId)
-                .orElseGet(() -> noteRepository.findByUrl(url)
-                        .map(Note::getId)
-                        .orElse(null)
-                );
+    private Map<String, Long> getNoteIds(Set<String> urls) {
+
+        Map<String, Long> noteIds = new HashMap<>();
+        noteCache.getAll(urls).forEach((url, note) -> noteIds.put(url, note.getId()));
+
+        List<String> missedUrls = urls.stream()
+                .filter(url -> !noteIds.containsKey(url))
+                .toList();
+
+        if (!missedUrls.isEmpty()) {
+            noteRepository.findByUrlIn(missedUrls)
+                    .forEach(note -> noteIds.put(note.getUrl(), note.getId()));
+        }
+
+        return noteIds;
     }
 
-    private ViewAnalyticsDto getNoteViewAnalytics(Long noteId) {
+    private Map<Long, ViewAnalyticsDto> getNotesViewAnalyticsByIds(Collection<Long> noteIds) {
 
-        if (noteId == null) {
-            return null;
+        Map<Long, ViewAnalyticsDto> viewAnalytics = new HashMap<>();
+        noteIds.forEach(id -> viewAnalytics.put(id, new ViewAnalyticsDto(0L, 0L)));
+
+        if (!noteIds.isEmpty()) {
+            noteViewCounterRepository.findAllById(noteIds)
+                    .forEach(counter -> viewAnalytics.put(
+                            counter.getNoteId(),
+                            new ViewAnalyticsDto(counter.getUserViews(), counter.getAnonymousViews())
+                    ));
         }
 
-        var viewStatistic = viewNoteRepository.countOfAuthorizedAndNonAuthorizedViews(noteId);
+        return viewAnalytics;
+    }
+
+    /**
+     * Recalculates counters of views from the {@code view_note} table by ranges of {@code COUNTERS_REBUILD_RANGE} notes.
+     * Counters are rebuilt by one instance at a time, the others skip the rebuild.
+     */
+    @Transactional
+    public void rebuildViewCounters() {
+        if (!noteViewCounterRepository.tryLockRebuild()) {
+            log.info("View counters are rebuilt by another instance");
+            return;
+        }
 
-        return new ViewAnalyticsDto(
-                viewStatistic.getUserViews(),
-                viewStatistic.getAnonymousViews()
-        );
+        long maxNoteId = noteViewCounterRepository.findMaxNoteId();
+        int rebuilt = 0;
+        for (long from = 0; from <= maxNoteId; from += COUNTERS_REBUILD_RANGE) {
+            rebuilt += noteViewCounterRepository.rebuildRange(from, from + COUNTERS_REBUILD_RANGE);
+        }
+        log.info("View counters rebuilt, {} counters were out of sync", rebuilt);
     }
 }
@@ -1,5 +1,9 @@
 package vstu.isd.notebin.service;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -12,6 +16,7 @@ import vstu.isd.notebin.repository.HashRepository;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +26,20 @@ public class HashService {
     private final HashRepository hashRepository;
     private final int HASH_POOL_SIZE;
     private final int EXHAUSTION_POOL_PERCENTAGE;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Size of the hash pool as seen by this instance, synchronized with the database on every check of the pool.
+     */
+    private final AtomicLong poolSize = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        poolSize.set(hashRepository.count());
+        Gauge.builder("notebin.hash.pool.size", poolSize, AtomicLong::get)
+                .description("Hashes stored in the hash pool")
+                .register(meterRegistry);
+    }
 
     @Async("hashGeneratorThreadPool")
     @Transactional
@@ -37,12 +56,15 @@ public class HashService {
         }
 
         List<Hash> hashes = hashRepository.popAll(amount);
+        poolSize.addAndGet(-hashes.size());
 
         if (hashes.size() < amount) {
             fillHashPoolIfNecessary();
 
             int lacking = amount - hashes.size();
-            hashes.addAll(hashRepository.popAll(lacking));
+            List<Hash> lackingHashes = hashRepository.popAll(lacking);
+            poolSize.addAndGet(-lackingHashes.size());
+            hashes.addAll(lackingHashes);
         } else {
             fillHashPoolIfNecessaryAsync();
         }
@@ -69,10 +91,12 @@ public class HashService {
          * in which case it is necessary to set a lock against concurrent invoke to this method.
          * */
         int actualHashesCount = (int) hashRepository.count();
+        poolSize.set(actualHashesCount);
 
         if (isHashPoolExhausted(actualHashesCount)) {
             int lacking = HASH_POOL_SIZE - actualHashesCount;
             generateAndSaveHashes(lacking);
+            poolSize.addAndGet(lacking);
         }
     }
 
@@ -81,11 +105,16 @@ public class HashService {
     }
 
     private void generateAndSaveHashes(int amount) {
-        List<Hash> urlHashes = hashGenerator.generateHashes(amount)
-                .map(Hash::new)
-                .toList();
-
-        hashRepository.saveAll(urlHashes);
+        Timer.builder("notebin.hash.pool.generation")
+                .description("Duration of generating and saving hashes into the hash pool")
+                .register(meterRegistry)
+                .record(() -> {
+                    List<Hash> urlHashes = hashGenerator.generateHashes(amount)
+                            .map(Hash::new)
+                            .toList();
+
+                    hashRepository.saveAll(urlHashes);
+                });
     }
 
     @Async("hashGeneratorThreadPool")
@@ -0,0 +1,81 @@
+package vstu.isd.notebin.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import vstu.isd.notebin.cache.NoteCache;
+import vstu.isd.notebin.repository.NoteRepository;
+
+import java.util.List;
+
+/**
+ * {@code NoteExpirationSweeper} makes notes expired by period unavailable in the background,
+ * so they do not wait for a read to be burned.
+ * <p>
+ * Expired notes are burned by batches of {@code BATCH_SIZE}, every batch by one statement,
+ * and their keys are evicted from the {@link NoteCache} in one round trip.
+ * The count of burned notes is exposed by {@code notebin.note.expiration.swept}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class NoteExpirationSweeper {
+
+    private final NoteRepository noteRepository;
+    private final NoteCache noteCache;
+    private final int BATCH_SIZE;
+
+    private final Counter sweptNotes;
+
+    NoteExpirationSweeper(
+            NoteRepository noteRepository,
+            NoteCache noteCache,
+            @Qualifier("expirationSweepBatchSize") int batchSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.noteRepository = noteRepository;
+        this.noteCache = noteCache;
+        BATCH_SIZE = batchSize;
+        sweptNotes = Counter.builder("notebin.note.expiration.swept")
+                .description("Notes made unavailable by the expiration sweeper")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Burns expired notes until a batch is not full.
+     *
+     * @return count of burned notes
+     */
+    @Scheduled(fixedDelayString = "${spring.note.expiration-sweeper.delay}")
+    public long sweep() {
+        long swept = 0;
+        List<String> urls;
+        do {
+            urls = noteRepository.burnExpired(BATCH_SIZE);
+            if (!urls.isEmpty()) {
+                evict(urls);
+                sweptNotes.increment(urls.size());
+                swept += urls.size();
+            }
+        } while (urls.size() == BATCH_SIZE);
+
+        if (swept > 0) {
+            log.debug("Swept {} expired notes", swept);
+        }
+        return swept;
+    }
+
+    /**
+     * A note left in the cache is still burned on read, as it is expired.
+     */
+    private void evict(List<String> urls) {
+        try {
+            noteCache.deleteAll(urls);
+        } catch (Exception e) {
+            log.error("Failed to evict {} expired notes from the cache", urls.size(), e);
+        }
+    }
+}
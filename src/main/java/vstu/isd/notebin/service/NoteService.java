@@ -5,12 +5,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vstu.isd.notebin.cache.NoteCache;
+import vstu.isd.notebin.cache.util.NotePatch;
+import vstu.isd.notebin.cache.util.SingleFlight;
 import vstu.isd.notebin.dto.*;
 import vstu.isd.notebin.entity.BaseNote;
 import vstu.isd.notebin.entity.ExpirationType;
@@ -22,6 +25,8 @@ import vstu.isd.notebin.exception.NoteUnavailableException;
 import vstu.isd.notebin.generator.UrlGenerator;
 import vstu.isd.notebin.mapper.NoteMapper;
 import vstu.isd.notebin.repository.NoteRepository;
+import vstu.isd.notebin.repository.result.NoteSummary;
+import vstu.isd.notebin.util.NoteCursor;
 import vstu.isd.notebin.validation.NoteValidator;
 
 import java.time.LocalDateTime;
@@ -29,7 +34,6 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Service
@@ -51,7 +55,9 @@ public class NoteService {
 
     private final int notePageSize;
 
-    @Transactional
+    private final SingleFlight<String, Optional<NoteCacheable>> noteLoads = new SingleFlight<>();
+
+    @Transactional(noRollbackFor = NoteUnavailableException.class) // keeps the burn of the unavailable note
     @Retryable(
             maxAttempts = 5,
             backoff = @Backoff(delay = 200, multiplier = 1),
@@ -76,8 +82,7 @@ public class NoteService {
 
         NoteDto dto = recalculatedResult.note();
 
-        // TODO in future usage of MQ or MB
-        analyticsService.createNoteView(new NoteViewRequestDto(dto.getId(), getNoteRequestDto.getUserId()));
+        analyticsService.recordNoteView(new NoteViewRequestDto(dto.getId(), getNoteRequestDto.getUserId()));
 
         return dto;
     }
@@ -88,6 +93,21 @@ public class NoteService {
             return noteCacheable;
         }
 
+        return loadNote(url);
+    }
+
+    private Optional<NoteCacheable> loadNote(String url) {
+        return noteLoads.load(
+                url,
+                () -> loadNoteAndCaching(url),
+                loaded -> loaded.map(n -> n.toBuilder().build())
+        );
+    }
+
+    /**
+     * Runs once per url for concurrent misses, other requests of the same url wait for its result.
+     */
+    private Optional<NoteCacheable> loadNoteAndCaching(String url) {
         Optional<Note> note = noteRepository.findByUrl(url);
         if (note.isPresent()) {
             NoteCacheable cacheable = noteMapper.toCacheable(note.get());
@@ -120,16 +140,21 @@ public class NoteService {
             UpdateNoteRequestDto updateNoteRequest,
             LocalDateTime expirationFrom
     ) {
+        if (updateNoteRequest.getUserId() == null) {
+            // ownership can't be checked by the cache, the update is rejected by the repository
+            return;
+        }
+
         try {
-            noteCache.update(url, cached -> {
-                cached = noteMapper.fromUpdateRequest(cached, updateNoteRequest, expirationFrom);
-                if (cached.isNotNoteOwner(updateNoteRequest.getUserId())) {
-                    throw new NotAllowedException("Can't update note with url : "
-                            + cached.getUrl()
-                            + ". This note belongs to other user.");
-                }
-                return cached;
-            });
+            NoteCache.PatchResult result = noteCache.patch(
+                    url,
+                    NotePatch.update(updateNoteRequest, expirationFrom)
+            );
+            if (!result.isApplied()) {
+                throw new NotAllowedException("Can't update note with url : "
+                        + result.note().getUrl()
+                        + ". This note belongs to other user.");
+            }
         } catch (NoSuchElementException ignored) {
         }
     }
@@ -172,7 +197,7 @@ public class NoteService {
         return noteMapper.toDto(savedNote);
     }
 
-    @Transactional
+    @Transactional(noRollbackFor = NoteUnavailableException.class) // keeps the burn of the unavailable note
     @Retryable(
             maxAttempts = 5,
             backoff = @Backoff(delay = 50, multiplier = 1),
@@ -209,22 +234,26 @@ public class NoteService {
     }
 
     @Transactional
-    public GetUserNotesResponseDto<NoteDto> getUserNotes(GetUserNotesRequestDto getNoteRequest) {
+    public GetUserNotesResponseDto<NoteSummaryDto> getUserNotes(GetUserNotesRequestDto getNoteRequest) {
 
         noteValidator.validateGetUserNotesRequestDto(getNoteRequest).ifPresent(e -> {
             throw e;
         });
 
-        Page<Note> page = getNotePageByUserId(getNoteRequest.getUserId(), getNoteRequest.getPage());
+        if (getNoteRequest.getCursor() != null) {
+            return getUserNotesByCursor(getNoteRequest.getUserId(), getNoteRequest.getCursor());
+        }
+
+        Page<NoteSummary> page = getNotePageByUserId(getNoteRequest.getUserId(), getNoteRequest.getPage());
 
-        List<NoteDto> notes = page
+        List<NoteSummaryDto> notes = page
                 .stream()
-                .map(noteMapper::toDto)
+                .map(noteMapper::toSummaryDto)
                 .collect(Collectors.toList());
 
-        return GetUserNotesResponseDto.<NoteDto>builder()
+        return GetUserNotesResponseDto.<NoteSummaryDto>builder()
                 .userId(getNoteRequest.getUserId())
-                .page(PageResponseDto.<NoteDto>builder()
+                .page(PageResponseDto.<NoteSummaryDto>builder()
                         .content(notes)
                         .page(page.getNumber())
                         .pageSize(notes.size())
@@ -234,14 +263,62 @@ public class NoteService {
                 ).build();
     }
 
-    private Page<Note> getNotePageByUserId(long userId, int page) {
-        return noteRepository.findByUserId(userId, PageRequest.of(page, notePageSize));
+    private Page<NoteSummary> getNotePageByUserId(long userId, int page) {
+        return noteRepository.findSummariesByUserId(userId, PageRequest.of(page, notePageSize));
+    }
+
+    /**
+     * Lists notes of the user by keyset, the total counts are computed only for the first page.
+     *
+     * @param cursor encoded {@link NoteCursor} of the last note of the previous page, empty for the first page
+     */
+    private GetUserNotesResponseDto<NoteSummaryDto> getUserNotesByCursor(long userId, String cursor) {
+
+        boolean isFirstPage = cursor.isEmpty();
+        Pageable limit = PageRequest.of(0, notePageSize + 1);
+
+        List<NoteSummary> notes;
+        if (isFirstPage) {
+            notes = noteRepository.findLatestSummariesByUserId(userId, limit);
+        } else {
+            NoteCursor after = NoteCursor.decode(cursor);
+            notes = noteRepository.findSummariesByUserIdAfter(userId, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = notes.size() > notePageSize;
+        List<NoteSummary> page = hasNext ? notes.subList(0, notePageSize) : notes;
+
+        String nextCursor = null;
+        if (hasNext) {
+            NoteSummary last = page.get(page.size() - 1);
+            nextCursor = new NoteCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        long totalElements = -1;
+        long totalPages = -1;
+        if (isFirstPage) {
+            totalElements = hasNext ? noteRepository.countByUserId(userId) : page.size();
+            totalPages = (totalElements + notePageSize - 1) / notePageSize;
+        }
+
+        return GetUserNotesResponseDto.<NoteSummaryDto>builder()
+                .userId(userId)
+                .page(PageResponseDto.<NoteSummaryDto>builder()
+                        .content(page.stream().map(noteMapper::toSummaryDto).collect(Collectors.toList()))
+                        .page(0)
+                        .pageSize(page.size())
+                        .totalElements(totalElements)
+                        .totalPages(totalPages)
+                        .nextCursor(nextCursor)
+                        .build()
+                ).build();
     }
 
     @Transactional
     public NotePreviewDto getNotePreview(String url) {
 
-        Optional<NoteCacheable> cachedNote = getNoteAndCachingIfNecessary(url);
+        Optional<NoteCacheable> cachedNote = noteCache.getPreviewAndExpire(url)
+                .or(() -> loadNote(url));
 
         if (cachedNote.isEmpty()) {
             throw new NoteNonExistsException(url);
@@ -278,73 +355,64 @@ class RecalculateNoteAvailability {
             );
         }
 
-        UnaryOperator<BaseNote> noteModifier = switch (note.getExpirationType()) {
-            case NEVER -> null;
-            case BURN_AFTER_READ -> getChangeAvailabilityModifier();
-            case BURN_BY_PERIOD -> {
-                if (!note.isExpired()) {
-                    yield null;
-                }
-                yield getChangeAvailabilityModifier();
-            }
+        boolean mustBeBurned = switch (note.getExpirationType()) {
+            case NEVER -> false;
+            case BURN_AFTER_READ -> true;
+            case BURN_BY_PERIOD -> note.isExpired();
         };
 
-        if (noteModifier == null) {
+        if (!mustBeBurned) {
             return new RecalculationAvailabilityResult(
                     noteMapper.toDto(note),
                     note.isAvailable()
             );
         }
 
-        Note changedNote = changeAvailabilityNote(
-                note.getUrl(),
-                noteModifier
-        );
+        Optional<NoteDto> burned = burnNote(note);
+        if (burned.isEmpty()) {
+            return new RecalculationAvailabilityResult(
+                    noteMapper.toDto(note),
+                    false
+            );
+        }
+        NoteDto burnedNote = burned.get();
 
-        boolean availableAfterRecalculation =
-                changedNote.getExpirationType() == ExpirationType.BURN_AFTER_READ || changedNote.isAvailable();
+        boolean availableAfterRecalculation = burnedNote.getExpirationType() == ExpirationType.BURN_AFTER_READ;
 
         return new RecalculationAvailabilityResult(
-                noteMapper.toDto(changedNote),
+                burnedNote,
                 availableAfterRecalculation
         );
     }
 
     /**
-     * ATTENTION:
-     * This modifier can change the availability of a note even if the note's expiration type has changed from its original value.
-     * example: note was updated(in another request) from BURN_AFTER_READ to BURN_BY_PERIOD. In this case, the note will be burned if noted is expired.
+     * @return the burned note or empty if the note was burned by a concurrent request
      */
-    private UnaryOperator<BaseNote> getChangeAvailabilityModifier() {
-        return n -> {
-            if (noteMustBeBurned(n)) {
-                n.setAvailable(false);
-                return n;
-            }
+    private Optional<NoteDto> burnNote(BaseNote note) {
+        NoteCache.PatchResult burned;
+        try {
+            burned = noteCache.patch(note.getUrl(), NotePatch.burn(note));
+        } catch (NoSuchElementException e) {
+            // state of system changed
             throw new OptimisticLockException();
-        };
-    }
+        }
 
-    private boolean noteMustBeBurned(BaseNote n) {
-        return switch (n.getExpirationType()) {
-            case NEVER -> false;
-            case BURN_AFTER_READ -> n.isAvailable();
-            case BURN_BY_PERIOD -> n.isAvailable() && n.isExpired();
-        };
-    }
+        if (!burned.isApplied()) {
+            if (burned.note().isNotAvailable()) {
+                return Optional.empty();
+            }
+            // state of system changed
+            throw new OptimisticLockException();
+        }
 
-    private Note changeAvailabilityNote(
-            String url,
-            UnaryOperator<BaseNote> noteModifier
-    ) {
-        try {
-            noteCache.update(url, n -> (NoteCacheable) noteModifier.apply(n));
-        } catch (NoSuchElementException e) {
+        if (noteRepository.burn(note.getUrl(), LocalDateTime.now()) == 0) {
             // state of system changed
             throw new OptimisticLockException();
         }
 
-        return noteRepository.updateWithLock(url, n -> (Note) noteModifier.apply(n));
+        NoteDto burnedNote = noteMapper.toDto(note);
+        burnedNote.setAvailable(false);
+        return Optional.of(burnedNote);
     }
 }
 
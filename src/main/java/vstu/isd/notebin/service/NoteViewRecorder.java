@@ -0,0 +1,187 @@
+package vstu.isd.notebin.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import vstu.isd.notebin.dto.NoteViewRequestDto;
+import vstu.isd.notebin.entity.ViewNote;
+import vstu.isd.notebin.mapper.NoteMapper;
+import vstu.isd.notebin.repository.ViewNoteBatchRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code NoteViewRecorder} buffers views of notes in memory and writes them to the {@code view_note} table
+ * in batches from the background.
+ * <p>
+ * Repeated views of the same note by the same authorized user are merged before writing,
+ * anonymous views are written as is.
+ * </p>
+ * <p>
+ * When the buffer is full, {@link OverflowPolicy} decides whether the reading request waits for free space
+ * or the view is dropped. On shutdown, {@link ShutdownPolicy} decides whether the buffered views are written.
+ * </p>
+ */
+@Slf4j
+@Component
+public class NoteViewRecorder implements MeterBinder {
+
+    public enum OverflowPolicy {
+        /**
+         * Wait up to {@code offer-timeout} for free space, then drop the view
+         */
+        BLOCK,
+        DROP
+    }
+
+    public enum ShutdownPolicy {
+        FLUSH,
+        DROP
+    }
+
+    private final ViewNoteBatchRepository viewNoteBatchRepository;
+    private final NoteMapper noteMapper;
+
+    private final BlockingQueue<ViewNote> buffer;
+    private final int BATCH_SIZE;
+    private final OverflowPolicy OVERFLOW_POLICY;
+    private final Duration OFFER_TIMEOUT;
+    private final ShutdownPolicy SHUTDOWN_POLICY;
+
+    private final AtomicLong droppedViews;
+
+    NoteViewRecorder(
+            ViewNoteBatchRepository viewNoteBatchRepository,
+            NoteMapper noteMapper,
+            @Qualifier("viewBufferCapacity") int capacity,
+            @Qualifier("viewBufferBatchSize") int batchSize,
+            @Qualifier("viewBufferOverflowPolicy") OverflowPolicy overflowPolicy,
+            @Qualifier("viewBufferOfferTimeout") Duration offerTimeout,
+            @Qualifier("viewBufferShutdownPolicy") ShutdownPolicy shutdownPolicy
+    ) {
+        this.viewNoteBatchRepository = viewNoteBatchRepository;
+        this.noteMapper = noteMapper;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        BATCH_SIZE = batchSize;
+        OVERFLOW_POLICY = overflowPolicy;
+        OFFER_TIMEOUT = offerTimeout;
+        SHUTDOWN_POLICY = shutdownPolicy;
+        droppedViews = new AtomicLong(0);
+    }
+
+    /**
+     * Puts the view into the buffer.
+     *
+     * @return {@code true} if the view was buffered, {@code false} if it was dropped
+     */
+    public boolean record(NoteViewRequestDto noteViewRequestDto) {
+        ViewNote view = noteMapper.toViewNote(noteViewRequestDto);
+
+        boolean buffered = switch (OVERFLOW_POLICY) {
+            case DROP -> buffer.offer(view);
+            case BLOCK -> offerWithTimeout(view);
+        };
+
+        if (!buffered) {
+            droppedViews.incrementAndGet();
+            log.warn("View buffer is full, view of note {} dropped", view.getNoteId());
+        }
+
+        return buffered;
+    }
+
+    private boolean offerWithTimeout(ViewNote view) {
+        try {
+            return buffer.offer(view, OFFER_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writes all buffered views.
+     */
+    @Scheduled(fixedDelayString = "${spring.analytics.view-buffer.flush-delay}")
+    public synchronized void flush() {
+        List<ViewNote> batch = new ArrayList<>(BATCH_SIZE);
+        while (buffer.drainTo(batch, BATCH_SIZE) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<ViewNote> batch) {
+        List<ViewNote> views = mergeRepeatedUserViews(batch);
+        try {
+            viewNoteBatchRepository.insertAllIfNotViewed(views);
+        } catch (Exception e) {
+            droppedViews.addAndGet(views.size());
+            log.error("Failed to write {} views", views.size(), e);
+        }
+    }
+
+    private List<ViewNote> mergeRepeatedUserViews(List<ViewNote> batch) {
+        Map<UserView, ViewNote> userViews = new LinkedHashMap<>();
+        List<ViewNote> views = new ArrayList<>(batch.size());
+
+        for (ViewNote view : batch) {
+            if (view.getUserId() == null) {
+                views.add(view);
+            } else {
+                userViews.putIfAbsent(new UserView(view.getNoteId(), view.getUserId()), view);
+            }
+        }
+        views.addAll(userViews.values());
+
+        return views;
+    }
+
+    public int bufferedViews() {
+        return buffer.size();
+    }
+
+    public long droppedViews() {
+        return droppedViews.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("notebin.views.buffered", this, NoteViewRecorder::bufferedViews)
+                .description("Views waiting in the buffer to be written")
+                .register(registry);
+        FunctionCounter.builder("notebin.views.dropped", this, NoteViewRecorder::droppedViews)
+                .description("Views dropped due to a full buffer, a failed write or shutdown")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        switch (SHUTDOWN_POLICY) {
+            case FLUSH -> flush();
+            case DROP -> {
+                int dropped = buffer.size();
+                buffer.clear();
+                droppedViews.addAndGet(dropped);
+                log.info("{} buffered views dropped on shutdown", dropped);
+            }
+        }
+    }
+
+    private record UserView(Long noteId, Long userId) {
+    }
+}
@@ -0,0 +1,17 @@
+package vstu.isd.notebin.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ViewCountersRebuildJob {
+
+    private final AnalyticsService analyticsService;
+
+    @Scheduled(cron = "${spring.analytics.counters.rebuild-cron}")
+    public void rebuildViewCounters() {
+        analyticsService.rebuildViewCounters();
+    }
+}
@@ -0,0 +1,114 @@
+package vstu.isd.notebin.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses content of notes which UTF-8 representation is at least {@code threshold} bytes.
+ * <p>
+ * Encoded content starts with its encoding, {@link #PLAIN} for UTF-8 text and {@link #DEFLATE} for
+ * the deflated UTF-8 text. Content is stored plain if compression does not make it smaller.
+ * </p>
+ */
+public class ContentCompressor {
+
+    public static final byte PLAIN = 0;
+    public static final byte DEFLATE = 1;
+
+    private final int threshold;
+
+    public ContentCompressor(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public byte[] encode(String content) {
+        if (content == null) {
+            return null;
+        }
+
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = compress(utf8);
+
+        byte encoding = compressed != null ? DEFLATE : PLAIN;
+        byte[] payload = compressed != null ? compressed : utf8;
+
+        byte[] encoded = new byte[payload.length + 1];
+        encoded[0] = encoding;
+        System.arraycopy(payload, 0, encoded, 1, payload.length);
+        return encoded;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the encoding is unknown or the content is malformed
+     */
+    public String decode(byte[] encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        if (encoded.length == 0) {
+            throw new IllegalArgumentException("Encoding of content is absent");
+        }
+
+        return switch (encoded[0]) {
+            case PLAIN -> new String(encoded, 1, encoded.length - 1, StandardCharsets.UTF_8);
+            case DEFLATE -> decompress(encoded, 1, encoded.length - 1);
+            default -> throw new IllegalArgumentException("Unknown encoding of content: " + encoded[0]);
+        };
+    }
+
+    /**
+     * @return deflated {@code utf8} or {@code null} if it is shorter than the threshold
+     * or compression does not make it smaller
+     */
+    public byte[] compress(byte[] utf8) {
+        if (utf8.length < threshold) {
+            return null;
+        }
+
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+
+            byte[] buffer = new byte[utf8.length];
+            int length = 0;
+            while (!deflater.finished() && length < buffer.length) {
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+
+            return deflater.finished() && length < utf8.length ? Arrays.copyOf(buffer, length) : null;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the content is malformed
+     */
+    public String decompress(byte[] compressed, int offset, int length) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed, offset, length);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Compressed content is truncated");
+                }
+                out.write(buffer, 0, inflated);
+            }
+
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Compressed content is malformed: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
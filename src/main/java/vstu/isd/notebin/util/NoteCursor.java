@@ -0,0 +1,44 @@
+package vstu.isd.notebin.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing of notes ordered by {@code createdAt desc, id}, the listing continues after the note
+ * with the {@code createdAt} and {@code id}.
+ * <p>
+ * Clients receive it as an opaque URL-safe string.
+ * </p>
+ */
+public record NoteCursor(LocalDateTime createdAt, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String cursor = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static NoteCursor decode(String encoded) {
+        String cursor = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+
+        int separator = cursor.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cursor is malformed");
+        }
+
+        try {
+            return new NoteCursor(
+                    LocalDateTime.parse(cursor.substring(0, separator)),
+                    Long.parseLong(cursor.substring(separator + 1))
+            );
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor is malformed", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package vstu.isd.notebin.util.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import vstu.isd.notebin.util.ContentCompressor;
+
+/**
+ * Stores content of notes encoded by {@link ContentCompressor}, so the encoding is recorded in every row.
+ */
+@Converter
+public class CompressedContentConverter implements AttributeConverter<String, byte[]> {
+
+    private final ContentCompressor contentCompressor;
+
+    CompressedContentConverter(ContentCompressor contentCompressor) {
+        this.contentCompressor = contentCompressor;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(String content) {
+        return contentCompressor.encode(content);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return contentCompressor.decode(dbData);
+    }
+}
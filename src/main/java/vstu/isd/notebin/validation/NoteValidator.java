@@ -9,8 +9,10 @@ import vstu.isd.notebin.entity.ExpirationType;
 import vstu.isd.notebin.exception.ClientExceptionName;
 import vstu.isd.notebin.exception.GroupValidationException;
 import vstu.isd.notebin.exception.ValidationException;
+import vstu.isd.notebin.util.NoteCursor;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -22,15 +24,18 @@ public class NoteValidator {
     private final String titleRegexp;
     private final int titleLength;
     private final int contentLength;
+    private final int analyticsMaxUrls;
 
     public NoteValidator(
             @Qualifier("titleRegexp") String titleRegexp,
             @Qualifier("titleLength") int titleLength,
-            @Qualifier("contentLength") int contentLength
+            @Qualifier("contentLength") int contentLength,
+            @Qualifier("analyticsMaxUrls") int analyticsMaxUrls
     ) {
         this.titleRegexp = titleRegexp;
         this.titleLength = titleLength;
         this.contentLength = contentLength;
+        this.analyticsMaxUrls = analyticsMaxUrls;
     }
 
     public Optional<GroupValidationException> validateCreateNoteRequestDto(CreateNoteRequestDto createNoteRequestDto) {
@@ -178,6 +183,31 @@ public class NoteValidator {
             exceptions.add(new ValidationException(exceptionDescription, ClientExceptionName.VALIDATION_EXCEPTION));
         }
 
+        if (request.getCursor() != null && !request.getCursor().isEmpty()) {
+            try {
+                NoteCursor.decode(request.getCursor());
+            } catch (IllegalArgumentException e) {
+                String exceptionDescription = "Cursor is malformed";
+                exceptions.add(new ValidationException(exceptionDescription, ClientExceptionName.VALIDATION_EXCEPTION));
+            }
+        }
+
+        return exceptions.isEmpty() ? Optional.empty() : Optional.of(new GroupValidationException(exceptions));
+    }
+
+    public Optional<GroupValidationException> validateGetViewsNoteRequestUrls(Collection<String> urls) {
+
+        List<ValidationException> exceptions = new LinkedList<>();
+
+        if (urls == null) {
+            String exceptionDescription = "Urls are not set";
+            exceptions.add(new ValidationException(exceptionDescription, ClientExceptionName.VALIDATION_EXCEPTION));
+        } else if (urls.size() > analyticsMaxUrls) {
+            String exceptionDescription = "Too many urls in request. " +
+                    "Max count is " + analyticsMaxUrls + " urls.";
+            exceptions.add(new ValidationException(exceptionDescription, ClientExceptionName.TOO_MANY_URLS));
+        }
+
         return exceptions.isEmpty() ? Optional.empty() : Optional.of(new GroupValidationException(exceptions));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1 @@
+create index if not exists idx_view_note_note_id_user_id on view_note (note_id, user_id);
@@ -0,0 +1,10 @@
+create table if not exists note_view_counter(
+    note_id bigint primary key,
+    user_views bigint not null default 0,
+    anonymous_views bigint not null default 0
+);
+
+insert into note_view_counter (note_id, user_views, anonymous_views)
+select note_id, count(user_id), count(*) - count(user_id)
+from view_note
+group by note_id;
@@ -0,0 +1,7 @@
+-- Blocks of url numbers reserved by one call, see SequenceBlockUrlGenerator.
+-- Starts at 62^8 to not intersect with `unique_hash_number_seq`: its numbers are stored as Base62 in `hash.hash varchar(8)`,
+-- so they stay below 62^8, while the 9-character urls of the blocks still fit `note.url varchar(16)`.
+-- INCREMENT is the block size, it may only be increased, decreasing produces overlapping blocks.
+CREATE SEQUENCE unique_block_seq
+    START WITH 218340105584896
+    INCREMENT BY 1000;
@@ -0,0 +1,3 @@
+-- Content is stored encoded by ContentCompressor, the first byte is the encoding, 0 is plain UTF-8 text.
+alter table note
+    alter column content type bytea using '\x00'::bytea || convert_to(content, 'UTF8');
@@ -0,0 +1,2 @@
+-- Backs keyset listing of notes of a user ordered by `create_at desc, id`.
+create index if not exists idx_note_user_id_create_at_id on note (user_id, create_at desc, id);
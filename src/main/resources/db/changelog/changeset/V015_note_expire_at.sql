@@ -0,0 +1,11 @@
+-- Expiration moment of BURN_BY_PERIOD notes, kept by the Note entity, null for other expiration types.
+-- expiration_period is an ISO-8601 duration since V005, PostgreSQL parses it as an interval.
+alter table note
+    add column if not exists expire_at timestamptz;
+
+update note
+set expire_at = expiration_from + expiration_period::interval
+where expiration_type = 'BURN_BY_PERIOD';
+
+create index if not exists idx_note_available_expire_at on note (expire_at)
+    where is_available and expire_at is not null;
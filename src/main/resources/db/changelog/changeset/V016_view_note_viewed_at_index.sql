@@ -0,0 +1,2 @@
+-- Backs counting of recent views of notes by the cache heater.
+create index if not exists idx_view_note_viewed_at_note_id on view_note (viewed_at, note_id);
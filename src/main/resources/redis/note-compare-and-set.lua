@@ -0,0 +1,15 @@
+-- Replaces the note stored by KEYS[1] if it is still equal to the one read before.
+--
+-- ARGV[1] serialized note read before
+-- ARGV[2] serialized note to set
+--
+-- Returns 1 if the note is replaced, 0 otherwise.
+-- The TTL of the note is kept.
+
+if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+    return 0
+end
+
+redis.call('SET', KEYS[1], ARGV[2], 'KEEPTTL')
+
+return 1
@@ -0,0 +1,42 @@
+-- Returns the note stored by KEYS[1] and resets its TTL, unless the note is unavailable or burns by period.
+-- The TTL of such a note is limited by its expiration when it is saved or patched, a read mustn't extend it.
+--
+-- ARGV[1] TTL in milliseconds
+--
+-- A note is either JSON or a value of BinaryNoteSerializer, which starts with the version 1 of its format
+-- followed by a varint bit mask of the note fields.
+
+local value = redis.call('GET', KEYS[1])
+if not value then
+    return false
+end
+
+local AVAILABLE = 512 -- 1 << 9
+local BURNS_BY_PERIOD = 2048 -- 1 << 11
+
+local function hasBit(mask, bit)
+    return math.floor(mask / bit) % 2 == 1
+end
+
+local function isTTLBounded(note)
+    if string.byte(note, 1) == 1 then
+        local mask, shift, i, b = 0, 1, 2, nil
+        repeat
+            b = string.byte(note, i)
+            mask = mask + (b % 128) * shift
+            shift = shift * 128
+            i = i + 1
+        until b < 128
+        return not hasBit(mask, AVAILABLE) or hasBit(mask, BURNS_BY_PERIOD)
+    end
+
+    -- quotes inside of JSON strings are escaped, so these fields can't be matched within the content
+    return string.find(note, '"available":false', 1, true) ~= nil
+        or string.find(note, '"expirationType":"BURN_BY_PERIOD"', 1, true) ~= nil
+end
+
+if not isTTLBounded(value) then
+    redis.call('PEXPIRE', KEYS[1], ARGV[1])
+end
+
+return value
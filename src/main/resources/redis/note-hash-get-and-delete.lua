@@ -0,0 +1,8 @@
+-- Deletes the note hash by KEYS[1].
+--
+-- Returns alternating names and values of its fields as HGETALL does.
+
+local note = redis.call('HGETALL', KEYS[1])
+redis.call('DEL', KEYS[1])
+
+return note
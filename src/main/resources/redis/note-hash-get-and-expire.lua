@@ -0,0 +1,23 @@
+-- Returns the fields of the note hash by KEYS[1] and resets its TTL, unless the note is unavailable
+-- or burns by period. The TTL of such a note is limited by its expiration when it is saved or patched,
+-- a read mustn't extend it.
+--
+-- ARGV[1] TTL in milliseconds
+-- ARGV[2..] names of the fields to return, all fields if none
+--
+-- Returns values of the requested fields as HMGET does,
+-- or alternating names and values of all fields as HGETALL does.
+
+local note
+if #ARGV > 1 then
+    note = redis.call('HMGET', KEYS[1], unpack(ARGV, 2))
+else
+    note = redis.call('HGETALL', KEYS[1])
+end
+
+local state = redis.call('HMGET', KEYS[1], 'available', 'expirationType')
+if state[1] == 'true' and state[2] ~= 'BURN_BY_PERIOD' then
+    redis.call('PEXPIRE', KEYS[1], ARGV[1])
+end
+
+return note
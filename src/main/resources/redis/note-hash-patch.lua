@@ -0,0 +1,42 @@
+-- Sets the fields of the note hash stored by KEYS[1] if its current fields are equal to the expected ones.
+--
+-- ARGV[1] JSON object of the expected fields, null is expected to be absent
+-- ARGV[2] JSON object of the fields to set, null fields are deleted
+--
+-- Returns {'NOT_FOUND'}, {'REJECTED', current note} or {'APPLIED', patched note},
+-- the note is returned as alternating names and values of its fields except content.
+
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return { 'NOT_FOUND' }
+end
+
+local function metadata()
+    local entries = redis.call('HGETALL', KEYS[1])
+    local fields = {}
+    for i = 1, #entries, 2 do
+        if entries[i] ~= 'content' then
+            fields[#fields + 1] = entries[i]
+            fields[#fields + 1] = entries[i + 1]
+        end
+    end
+    return fields
+end
+
+for field, expected in pairs(cjson.decode(ARGV[1])) do
+    if expected == cjson.null then
+        expected = false
+    end
+    if redis.call('HGET', KEYS[1], field) ~= expected then
+        return { 'REJECTED', metadata() }
+    end
+end
+
+for field, value in pairs(cjson.decode(ARGV[2])) do
+    if value == cjson.null then
+        redis.call('HDEL', KEYS[1], field)
+    else
+        redis.call('HSET', KEYS[1], field, value)
+    end
+end
+
+return { 'APPLIED', metadata() }
@@ -0,0 +1,24 @@
+-- Saves every note hash by KEYS if it is absent.
+--
+-- ARGV for every key in turn: TTL in milliseconds (0 to keep the note until eviction),
+-- the number of fields and the alternating names and values of the fields
+--
+-- Returns the number of saved notes.
+
+local saved = 0
+local position = 1
+for _, key in ipairs(KEYS) do
+    local ttl = tonumber(ARGV[position])
+    local first = position + 2
+    position = first + tonumber(ARGV[position + 1]) * 2
+
+    if redis.call('EXISTS', key) == 0 then
+        redis.call('HSET', key, unpack(ARGV, first, position - 1))
+        if ttl > 0 then
+            redis.call('PEXPIRE', key, ttl)
+        end
+        saved = saved + 1
+    end
+end
+
+return saved
@@ -0,0 +1,17 @@
+-- Saves the note hash by KEYS[1] if it is absent.
+--
+-- ARGV[1] TTL in milliseconds, 0 to keep the note until eviction
+-- ARGV[2..] alternating names and values of the fields
+--
+-- Returns 1 if the note is saved, 0 if it is already present.
+
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return 0
+end
+
+redis.call('HSET', KEYS[1], unpack(ARGV, 2))
+if tonumber(ARGV[1]) > 0 then
+    redis.call('PEXPIRE', KEYS[1], ARGV[1])
+end
+
+return 1
@@ -0,0 +1,78 @@
+-- Sets the fields of the note stored by KEYS[1] if its current fields are equal to the expected ones.
+--
+-- ARGV[1] JSON object of the expected fields
+-- ARGV[2] JSON object of the fields to set
+--
+-- Returns {'NOT_FOUND'}, {'REJECTED', current note} or {'APPLIED', patched note}.
+-- The TTL of the note is kept.
+--
+-- Lua numbers are doubles, so numeric fields such as ids are kept exactly only while they stay within 2^53.
+-- The note is not encoded by cjson, which writes at most 14 significant digits of a number.
+
+local value = redis.call('GET', KEYS[1])
+if not value then
+    return { 'NOT_FOUND' }
+end
+
+local function equals(a, b)
+    if type(a) ~= 'table' or type(b) ~= 'table' then
+        return a == b
+    end
+    for k, v in pairs(a) do
+        if not equals(v, b[k]) then
+            return false
+        end
+    end
+    for k in pairs(b) do
+        if a[k] == nil then
+            return false
+        end
+    end
+    return true
+end
+
+local function isArray(t)
+    local size = 0
+    for _ in pairs(t) do
+        size = size + 1
+    end
+    return size > 0 and size == #t
+end
+
+local function encode(v)
+    if type(v) == 'number' then
+        return string.format('%.17g', v)
+    end
+    if type(v) ~= 'table' then
+        return cjson.encode(v)
+    end
+
+    local parts = {}
+    if isArray(v) then
+        for i = 1, #v do
+            parts[i] = encode(v[i])
+        end
+        return '[' .. table.concat(parts, ',') .. ']'
+    end
+    for k, item in pairs(v) do
+        parts[#parts + 1] = cjson.encode(tostring(k)) .. ':' .. encode(item)
+    end
+    return '{' .. table.concat(parts, ',') .. '}'
+end
+
+local note = cjson.decode(value)
+
+for field, expected in pairs(cjson.decode(ARGV[1])) do
+    if not equals(note[field], expected) then
+        return { 'REJECTED', value }
+    end
+end
+
+for field, patched in pairs(cjson.decode(ARGV[2])) do
+    note[field] = patched
+end
+
+local updated = encode(note)
+redis.call('SET', KEYS[1], updated, 'KEEPTTL')
+
+return { 'APPLIED', updated }
@@ -0,0 +1,147 @@
+package vstu.isd.notebin.api.auth;
+
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.jose4j.jwt.consumer.JwtConsumer;
+import org.jose4j.jwt.consumer.JwtConsumerBuilder;
+import org.jose4j.lang.UnresolvableKeyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwksKeyResolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path jwksFile;
+    private ExecutorService refreshExecutor;
+    private JwksKeyResolver resolver;
+    private JwtConsumer jwtVerifier;
+
+    @BeforeEach
+    void setUp() {
+        jwksFile = tempDir.resolve("jwks.json");
+        refreshExecutor = Executors.newSingleThreadExecutor();
+        resolver = new JwksKeyResolver(
+                new DefaultResourceLoader(),
+                jwksFile.toUri().toString(),
+                Duration.ofHours(1),
+                refreshExecutor
+        );
+        jwtVerifier = new JwtConsumerBuilder()
+                .setVerificationKeyResolver(resolver)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private static RsaJsonWebKey generateKey(String kid) throws Exception {
+        RsaJsonWebKey key = RsaJwkGenerator.generateJwk(2048);
+        key.setKeyId(kid);
+        return key;
+    }
+
+    /**
+     * Writes public parts of the keys to the JWKS file
+     */
+    private void publishKeys(RsaJsonWebKey... keys) throws Exception {
+        Files.writeString(jwksFile, new JsonWebKeySet(keys).toJson());
+    }
+
+    private static String token(RsaJsonWebKey key) throws Exception {
+        JwtClaims claims = new JwtClaims();
+        claims.setSubject("login");
+        claims.setIssuedAtToNow();
+        claims.setExpirationTimeMinutesInTheFuture(10);
+        claims.setClaim("user_id", 1L);
+
+        JsonWebSignature jws = new JsonWebSignature();
+        jws.setPayload(claims.toJson());
+        jws.setKey(key.getPrivateKey());
+        jws.setKeyIdHeaderValue(key.getKeyId());
+        jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.RSA_USING_SHA256);
+        return jws.getCompactSerialization();
+    }
+
+    @Test
+    void verifiesTokenSignedByKnownKey() throws Exception {
+        RsaJsonWebKey key = generateKey("key-1");
+        publishKeys(key);
+        resolver.init();
+
+        JwtClaims claims = jwtVerifier.processToClaims(token(key));
+
+        assertEquals("1", claims.getClaimValueAsString("user_id"));
+    }
+
+    @Test
+    void rejectsTokenSignedByUnknownKey() throws Exception {
+        publishKeys(generateKey("key-1"));
+        resolver.init();
+
+        InvalidJwtException thrown = assertThrows(
+                InvalidJwtException.class,
+                () -> jwtVerifier.processToClaims(token(generateKey("key-2")))
+        );
+        assertInstanceOf(UnresolvableKeyException.class, thrown.getCause());
+    }
+
+    @Test
+    void rejectsTokenWithForgedSignature() throws Exception {
+        RsaJsonWebKey key = generateKey("key-1");
+        publishKeys(key);
+        resolver.init();
+
+        RsaJsonWebKey forged = generateKey("key-1");
+
+        InvalidJwtException thrown = assertThrows(
+                InvalidJwtException.class,
+                () -> jwtVerifier.processToClaims(token(forged))
+        );
+        assertFalse(thrown.getCause() instanceof UnresolvableKeyException);
+    }
+
+    @Test
+    void rotatedKeyIsResolvedAfterRefresh() throws Exception {
+        RsaJsonWebKey oldKey = generateKey("key-1");
+        RsaJsonWebKey newKey = generateKey("key-2");
+        publishKeys(oldKey);
+        resolver.init();
+
+        publishKeys(oldKey, newKey);
+        resolver.refresh();
+
+        assertEquals("1", jwtVerifier.processToClaims(token(newKey)).getClaimValueAsString("user_id"));
+    }
+
+    @Test
+    void keysAreKeptWhenRefreshFails() throws Exception {
+        RsaJsonWebKey key = generateKey("key-1");
+        publishKeys(key);
+        resolver.init();
+
+        Files.delete(jwksFile);
+        resolver.refresh();
+
+        assertEquals("1", jwtVerifier.processToClaims(token(key)).getClaimValueAsString("user_id"));
+    }
+}
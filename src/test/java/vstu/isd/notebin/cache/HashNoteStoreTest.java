@@ -0,0 +1,216 @@
+package vstu.isd.notebin.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+import vstu.isd.notebin.cache.util.NoteFields;
+import vstu.isd.notebin.cache.util.NotePatch;
+import vstu.isd.notebin.dto.UpdateNoteRequestDto;
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.NoteCacheable;
+import vstu.isd.notebin.testutils.ClearableTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static vstu.isd.notebin.testutils.TestAsserts.assertNoteCacheableEquals;
+
+@TestPropertySource(properties = "spring.note.cache-layout=HASH")
+public class HashNoteStoreTest extends ClearableTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Autowired
+    private HashNoteStore hashNoteStore;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private NoteCacheable note(String url) {
+        return NoteCacheable.builder()
+                .url(url)
+                .id(Long.parseLong(url))
+                .title("title")
+                .content("content")
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123456000))
+                .isAvailable(true)
+                .expirationType(ExpirationType.BURN_BY_PERIOD)
+                .expirationPeriod(Duration.ofMinutes(90))
+                .expirationFrom(LocalDateTime.of(2024, 1, 2, 3, 4))
+                .userId(7L)
+                .build();
+    }
+
+    private long ttlOf(String url) {
+        return stringRedisTemplate.getExpire("note:" + url, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void saveIfAbsentDoesNotOverwriteNote() {
+        NoteCacheable note = note("1");
+
+        assertTrue(hashNoteStore.saveIfAbsent(note, TTL));
+        assertFalse(hashNoteStore.saveIfAbsent(note.toBuilder().title("other").build(), TTL));
+
+        assertNoteCacheableEquals(note, hashNoteStore.get("1"));
+        assertTrue(ttlOf("1") > 0);
+    }
+
+    @Test
+    void saveAllIfAbsentSavesOnlyAbsentNotes() {
+        NoteCacheable present = note("1");
+        hashNoteStore.saveIfAbsent(present, null);
+
+        NoteCacheable absent = note("2");
+        hashNoteStore.saveAllIfAbsent(
+                List.of(present.toBuilder().title("other").build(), absent),
+                note -> TTL
+        );
+
+        assertNoteCacheableEquals(present, hashNoteStore.get("1"));
+        assertEquals(-1, ttlOf("1"));
+        assertNoteCacheableEquals(absent, hashNoteStore.get("2"));
+        assertTrue(ttlOf("2") > 0);
+    }
+
+    private NoteCacheable neverExpiringNote(String url) {
+        return note(url).toBuilder()
+                .expirationType(ExpirationType.NEVER)
+                .expirationPeriod(null)
+                .expirationFrom(null)
+                .build();
+    }
+
+    @Test
+    void getAndExpireResetsTTL() {
+        NoteCacheable note = neverExpiringNote("1");
+        hashNoteStore.saveIfAbsent(note, Duration.ofSeconds(10));
+
+        assertNoteCacheableEquals(note, hashNoteStore.getAndExpire("1", TTL));
+
+        assertTrue(ttlOf("1") > Duration.ofSeconds(10).toMillis());
+        assertNull(hashNoteStore.getAndExpire("2", TTL));
+    }
+
+    @Test
+    void getAndExpireKeepsTTLOfNoteBurningByPeriodOrUnavailable() {
+        NoteCacheable note = note("1");
+        hashNoteStore.saveIfAbsent(note, Duration.ofSeconds(10));
+        NoteCacheable burned = neverExpiringNote("2").toBuilder().isAvailable(false).build();
+        hashNoteStore.saveIfAbsent(burned, Duration.ofSeconds(10));
+
+        assertNoteCacheableEquals(note, hashNoteStore.getAndExpire("1", TTL));
+        assertNoteCacheableEquals(burned, hashNoteStore.getAndExpire("2", TTL));
+
+        assertTrue(ttlOf("1") <= Duration.ofSeconds(10).toMillis());
+        assertTrue(ttlOf("2") <= Duration.ofSeconds(10).toMillis());
+    }
+
+    @Test
+    void getPreviewAndExpireDoesNotReadContent() {
+        NoteCacheable note = neverExpiringNote("1");
+        hashNoteStore.saveIfAbsent(note, Duration.ofSeconds(10));
+
+        NoteCacheable preview = hashNoteStore.getPreviewAndExpire("1", TTL);
+
+        assertNoteCacheableEquals(note.toBuilder().content(null).build(), preview);
+        assertTrue(ttlOf("1") > Duration.ofSeconds(10).toMillis());
+        assertNull(hashNoteStore.getPreviewAndExpire("2", TTL));
+    }
+
+    @Test
+    void appliedPatchDeletesNullFields() {
+        NoteCacheable note = note("1");
+        hashNoteStore.saveIfAbsent(note, TTL);
+
+        NotePatch patch = NotePatch.update(
+                UpdateNoteRequestDto.builder()
+                        .title("updated")
+                        .expirationType(ExpirationType.NEVER)
+                        .userId(7L)
+                        .build(),
+                LocalDateTime.now()
+        );
+        NoteCache.PatchResult result = hashNoteStore.patch("1", patch);
+
+        NoteCacheable expected = note.toBuilder()
+                .title("updated")
+                .expirationType(ExpirationType.NEVER)
+                .expirationPeriod(null)
+                .expirationFrom(null)
+                .build();
+        assertTrue(result.isApplied());
+        assertNoteCacheableEquals(expected.toBuilder().content(null).build(), result.note());
+        assertNoteCacheableEquals(expected, hashNoteStore.get("1"));
+        assertFalse(stringRedisTemplate.opsForHash().hasKey("note:1", NoteFields.EXPIRATION_PERIOD));
+        assertFalse(stringRedisTemplate.opsForHash().hasKey("note:1", NoteFields.EXPIRATION_FROM));
+    }
+
+    @Test
+    void rejectedPatchKeepsNote() {
+        NoteCacheable note = note("1");
+        hashNoteStore.saveIfAbsent(note, TTL);
+
+        NotePatch patch = NotePatch.update(
+                UpdateNoteRequestDto.builder()
+                        .title("updated")
+                        .userId(8L)
+                        .build(),
+                LocalDateTime.now()
+        );
+        NoteCache.PatchResult result = hashNoteStore.patch("1", patch);
+
+        assertFalse(result.isApplied());
+        assertNoteCacheableEquals(note.toBuilder().content(null).build(), result.note());
+        assertNoteCacheableEquals(note, hashNoteStore.get("1"));
+    }
+
+    @Test
+    void burnDropsContent() {
+        NoteCacheable note = note("1");
+        hashNoteStore.saveIfAbsent(note, TTL);
+
+        NoteCache.PatchResult result = hashNoteStore.patch("1", NotePatch.burn(note));
+
+        assertTrue(result.isApplied());
+        assertNoteCacheableEquals(note.toBuilder().isAvailable(false).content(null).build(), hashNoteStore.get("1"));
+        assertFalse(stringRedisTemplate.opsForHash().hasKey("note:1", NoteFields.CONTENT));
+    }
+
+    @Test
+    void patchExpectsAbsentFieldForNull() {
+        NoteCacheable note = note("1").toBuilder().userId(null).build();
+        hashNoteStore.saveIfAbsent(note, TTL);
+
+        NoteCache.PatchResult result = hashNoteStore.patch(
+                "1",
+                NotePatch.update(UpdateNoteRequestDto.builder().title("updated").build(), LocalDateTime.now())
+        );
+
+        assertTrue(result.isApplied());
+        assertEquals("updated", hashNoteStore.get("1").getTitle());
+    }
+
+    @Test
+    void patchOfAbsentNoteThrows() {
+        NotePatch patch = NotePatch.burn(note("1"));
+
+        assertThrows(NoSuchElementException.class, () -> hashNoteStore.patch("1", patch));
+    }
+
+    @Test
+    void getAndDeleteRemovesNote() {
+        NoteCacheable note = note("1");
+        hashNoteStore.saveIfAbsent(note, TTL);
+
+        assertNoteCacheableEquals(note, hashNoteStore.getAndDelete("1"));
+
+        assertNull(hashNoteStore.get("1"));
+        assertNull(hashNoteStore.getAndDelete("1"));
+    }
+}
@@ -0,0 +1,127 @@
+package vstu.isd.notebin.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+import vstu.isd.notebin.cache.util.NotePatch;
+import vstu.isd.notebin.dto.UpdateNoteRequestDto;
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.NoteCacheable;
+import vstu.isd.notebin.testutils.ClearableTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static vstu.isd.notebin.testutils.TestAsserts.assertNoteCacheableEquals;
+
+@TestPropertySource(properties = "spring.note.cache-serializer=JSON")
+public class JsonValueNoteStoreTest extends ClearableTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    /**
+     * Greatest id kept exactly by Lua, it has more significant digits than cjson writes.
+     */
+    private static final long MAX_EXACT_ID = (1L << 53) - 1;
+
+    @Autowired
+    private ValueNoteStore valueNoteStore;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private NoteCacheable note(String url) {
+        return NoteCacheable.builder()
+                .url(url)
+                .id(MAX_EXACT_ID)
+                .title("title")
+                .content("content")
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123456789))
+                .isAvailable(true)
+                .expirationType(ExpirationType.BURN_BY_PERIOD)
+                .expirationPeriod(Duration.ofMillis(5_400_123))
+                .expirationFrom(LocalDateTime.of(2024, 1, 2, 3, 4))
+                .userId(MAX_EXACT_ID - 1)
+                .build();
+    }
+
+    private long ttlOf(String url) {
+        return stringRedisTemplate.getExpire(url, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void getAndExpireKeepsTTLOfNoteBurningByPeriodOrUnavailable() {
+        NoteCacheable note = note("1");
+        valueNoteStore.saveIfAbsent(note, Duration.ofSeconds(10));
+        NoteCacheable burned = note("2").toBuilder()
+                .expirationType(ExpirationType.NEVER)
+                .expirationPeriod(null)
+                .expirationFrom(null)
+                .isAvailable(false)
+                .build();
+        valueNoteStore.saveIfAbsent(burned, Duration.ofSeconds(10));
+
+        assertNoteCacheableEquals(note, valueNoteStore.getAndExpire("1", TTL));
+        assertNoteCacheableEquals(burned, valueNoteStore.getAndExpire("2", TTL));
+
+        assertTrue(ttlOf("1") <= Duration.ofSeconds(10).toMillis());
+        assertTrue(ttlOf("2") <= Duration.ofSeconds(10).toMillis());
+    }
+
+    @Test
+    void getAndExpireResetsTTLOfNoteWithContentLikeFields() {
+        NoteCacheable note = note("1").toBuilder()
+                .content("\"available\":false,\"expirationType\":\"BURN_BY_PERIOD\"")
+                .expirationType(ExpirationType.NEVER)
+                .expirationPeriod(null)
+                .expirationFrom(null)
+                .build();
+        valueNoteStore.saveIfAbsent(note, Duration.ofSeconds(10));
+
+        assertNoteCacheableEquals(note, valueNoteStore.getAndExpire("1", TTL));
+
+        assertTrue(ttlOf("1") > Duration.ofSeconds(10).toMillis());
+    }
+
+    @Test
+    void appliedPatchKeepsNumbersExactly() {
+        NoteCacheable note = note("1");
+        valueNoteStore.saveIfAbsent(note, TTL);
+
+        NoteCache.PatchResult result = valueNoteStore.patch("1", NotePatch.burn(note));
+
+        NoteCacheable expected = note.toBuilder().isAvailable(false).content(null).build();
+        assertTrue(result.isApplied());
+        assertNoteCacheableEquals(expected, result.note());
+        assertNoteCacheableEquals(expected, valueNoteStore.get("1"));
+    }
+
+    @Test
+    void appliedPatchSetsNullFields() {
+        NoteCacheable note = note("1");
+        valueNoteStore.saveIfAbsent(note, TTL);
+
+        NotePatch patch = NotePatch.update(
+                UpdateNoteRequestDto.builder()
+                        .title("updated \"title\"")
+                        .expirationType(ExpirationType.NEVER)
+                        .userId(note.getUserId())
+                        .build(),
+                LocalDateTime.now()
+        );
+        NoteCache.PatchResult result = valueNoteStore.patch("1", patch);
+
+        NoteCacheable expected = note.toBuilder()
+                .title("updated \"title\"")
+                .expirationType(ExpirationType.NEVER)
+                .expirationPeriod(null)
+                .expirationFrom(null)
+                .build();
+        assertTrue(result.isApplied());
+        assertNoteCacheableEquals(expected, result.note());
+        assertNoteCacheableEquals(expected, valueNoteStore.get("1"));
+    }
+}
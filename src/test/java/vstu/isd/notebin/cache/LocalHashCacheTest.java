@@ -0,0 +1,192 @@
+package vstu.isd.notebin.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import vstu.isd.notebin.service.HashService;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LocalHashCacheTest {
+
+    private static final int CAPACITY = 10;
+    private static final int HASH_POOL_SIZE = 100;
+    private static final int EXHAUSTION_PERCENTAGE = 20;
+
+    @Mock
+    private HashService hashService;
+
+    private final AtomicInteger sequence = new AtomicInteger(0);
+
+    private List<String> nextHashes(int amount) {
+        return IntStream.range(0, amount)
+                .mapToObj(i -> String.valueOf(sequence.getAndIncrement()))
+                .toList();
+    }
+
+    private LocalHashCache localHashCache() {
+        when(hashService.getHashes(anyInt())).thenAnswer(inv -> nextHashes(inv.getArgument(0)));
+
+        LocalHashCache cache = new LocalHashCache(
+                hashService,
+                CAPACITY,
+                HASH_POOL_SIZE,
+                EXHAUSTION_PERCENTAGE,
+                Duration.ofSeconds(10),
+                new SimpleMeterRegistry()
+        );
+        cache.init();
+
+        return cache;
+    }
+
+    @Test
+    void prefetchedSegmentReplacesExhaustedOne() {
+        LocalHashCache cache = localHashCache();
+        CompletableFuture<List<String>> prefetched = new CompletableFuture<>();
+        when(hashService.getHashesAsync(anyInt())).thenReturn(prefetched);
+
+        for (int i = 0; i < CAPACITY - CAPACITY * EXHAUSTION_PERCENTAGE / 100; i++) {
+            cache.getHash();
+        }
+        verify(hashService).getHashesAsync(anyInt());
+
+        prefetched.complete(List.of("prefetched"));
+        cache.getHash();
+        cache.getHash();
+
+        assertEquals("prefetched", cache.getHash());
+        verify(hashService, times(1)).getHashes(anyInt());
+    }
+
+    @Test
+    void prefetchIsStartedOnce() {
+        LocalHashCache cache = localHashCache();
+        when(hashService.getHashesAsync(anyInt())).thenReturn(new CompletableFuture<>());
+
+        for (int i = 0; i < CAPACITY; i++) {
+            cache.getHash();
+        }
+
+        verify(hashService, times(1)).getHashesAsync(anyInt());
+    }
+
+    @Test
+    void hashesAreFetchedSynchronouslyWhenPrefetchIsLate() {
+        LocalHashCache cache = localHashCache();
+        when(hashService.getHashesAsync(anyInt())).thenReturn(new CompletableFuture<>());
+
+        for (int i = 0; i < CAPACITY + 1; i++) {
+            cache.getHash();
+        }
+
+        verify(hashService, times(2)).getHashes(anyInt());
+    }
+
+    @Test
+    void segmentSizeAdaptsToConsumptionRate() {
+        LocalHashCache cache = localHashCache();
+        when(hashService.getHashesAsync(anyInt())).thenReturn(new CompletableFuture<>());
+
+        for (int i = 0; i < CAPACITY; i++) {
+            cache.getHash();
+        }
+
+        verify(hashService).getHashesAsync(HASH_POOL_SIZE);
+    }
+
+    @Test
+    void concurrentConsumersGetUniqueHashes() throws Exception {
+        LocalHashCache cache = localHashCache();
+        when(hashService.getHashesAsync(anyInt()))
+                .thenAnswer(inv -> CompletableFuture.supplyAsync(() -> nextHashes(inv.getArgument(0))));
+
+        int threads = 8;
+        int hashesPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> futures = executor.invokeAll(
+                    IntStream.range(0, threads)
+                            .<Callable<List<String>>>mapToObj(t -> () ->
+                                    IntStream.range(0, hashesPerThread).mapToObj(i -> cache.getHash()).toList()
+                            )
+                            .toList()
+            );
+
+            Set<String> hashes = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                hashes.addAll(future.get(10, TimeUnit.SECONDS));
+            }
+
+            assertEquals(threads * hashesPerThread, hashes.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentFallbacksFetchOneSegment() throws Exception {
+        LocalHashCache cache = localHashCache();
+        when(hashService.getHashesAsync(anyInt())).thenReturn(new CompletableFuture<>());
+        for (int i = 0; i < CAPACITY; i++) {
+            cache.getHash();
+        }
+        when(hashService.getHashes(anyInt())).thenAnswer(inv -> {
+            Thread.sleep(100);
+            return nextHashes(inv.getArgument(0));
+        });
+
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> futures = executor.invokeAll(
+                    IntStream.range(0, threads).<Callable<String>>mapToObj(t -> cache::getHash).toList()
+            );
+
+            Set<String> hashes = new HashSet<>();
+            for (Future<String> future : futures) {
+                hashes.add(future.get(10, TimeUnit.SECONDS));
+            }
+
+            assertEquals(threads, hashes.size());
+            verify(hashService, times(2)).getHashes(anyInt());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void latePrefetchedSegmentIsNotDiscarded() {
+        LocalHashCache cache = localHashCache();
+        CompletableFuture<List<String>> prefetched = new CompletableFuture<>();
+        when(hashService.getHashesAsync(anyInt())).thenReturn(prefetched).thenReturn(new CompletableFuture<>());
+
+        for (int i = 0; i < CAPACITY + 1; i++) {
+            cache.getHash();
+        }
+        verify(hashService, times(2)).getHashes(anyInt());
+        prefetched.complete(List.of("prefetched"));
+
+        List<String> hashes = IntStream.range(0, HASH_POOL_SIZE + 1).mapToObj(i -> cache.getHash()).toList();
+
+        assertTrue(hashes.contains("prefetched"));
+    }
+}
@@ -0,0 +1,152 @@
+package vstu.isd.notebin.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.util.unit.DataSize;
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.NoteCacheable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class LocalNoteCacheTest {
+
+    private static final String CHANNEL = "note-invalidation";
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private LocalNoteCache localNoteCache;
+
+    @BeforeEach
+    void setUp() {
+        localNoteCache = new LocalNoteCache(
+                stringRedisTemplate,
+                new ChannelTopic(CHANNEL),
+                DataSize.ofMegabytes(1),
+                Duration.ofMinutes(1)
+        );
+    }
+
+    private NoteCacheable note(String url, ExpirationType expirationType) {
+        return NoteCacheable.builder()
+                .url(url)
+                .id(1L)
+                .title("title")
+                .content("content")
+                .createdAt(LocalDateTime.now())
+                .isAvailable(true)
+                .expirationType(expirationType)
+                .build();
+    }
+
+    @Test
+    void cachesNeverExpiringNote() {
+        NoteCacheable note = note("1", ExpirationType.NEVER);
+
+        localNoteCache.putIfNotInvalidated(note, localNoteCache.epoch());
+
+        NoteCacheable actual = localNoteCache.get("1").orElseThrow();
+        assertEquals(note, actual);
+        assertNotSame(note, actual);
+        assertEquals(1, localNoteCache.stats().hitCount());
+    }
+
+    @Test
+    void doesNotCacheBurnableNotes() {
+        localNoteCache.putIfNotInvalidated(note("1", ExpirationType.BURN_AFTER_READ), localNoteCache.epoch());
+        localNoteCache.putIfNotInvalidated(note("2", ExpirationType.BURN_BY_PERIOD), localNoteCache.epoch());
+
+        assertTrue(localNoteCache.get("1").isEmpty());
+        assertTrue(localNoteCache.get("2").isEmpty());
+    }
+
+    @Test
+    void doesNotCacheNoteReadBeforeInvalidation() {
+        long epoch = localNoteCache.epoch();
+
+        localNoteCache.evict("1");
+        localNoteCache.putIfNotInvalidated(note("1", ExpirationType.NEVER), epoch);
+
+        assertTrue(localNoteCache.get("1").isEmpty());
+    }
+
+    @Test
+    void evictPublishesInvalidation() {
+        localNoteCache.putIfNotInvalidated(note("1", ExpirationType.NEVER), localNoteCache.epoch());
+
+        localNoteCache.evict("1");
+
+        assertTrue(localNoteCache.get("1").isEmpty());
+        verify(stringRedisTemplate).convertAndSend(CHANNEL, "1");
+    }
+
+    @Test
+    void invalidationMessageEvictsNote() {
+        localNoteCache.putIfNotInvalidated(note("1", ExpirationType.NEVER), localNoteCache.epoch());
+
+        localNoteCache.onMessage(
+                new DefaultMessage(
+                        CHANNEL.getBytes(StandardCharsets.UTF_8),
+                        "1".getBytes(StandardCharsets.UTF_8)
+                ),
+                null
+        );
+
+        assertTrue(localNoteCache.get("1").isEmpty());
+    }
+
+    @Test
+    void evictAllPublishesOneInvalidation() {
+        localNoteCache.putIfNotInvalidated(note("1", ExpirationType.NEVER), localNoteCache.epoch());
+        localNoteCache.putIfNotInvalidated(note("2", ExpirationType.NEVER), localNoteCache.epoch());
+
+        localNoteCache.evictAll(List.of("1", "2"));
+
+        assertTrue(localNoteCache.get("1").isEmpty());
+        assertTrue(localNoteCache.get("2").isEmpty());
+        verify(stringRedisTemplate, times(1)).convertAndSend(CHANNEL, "1\n2");
+    }
+
+    @Test
+    void invalidationMessageOfSeveralNotesEvictsAll() {
+        localNoteCache.putIfNotInvalidated(note("1", ExpirationType.NEVER), localNoteCache.epoch());
+        localNoteCache.putIfNotInvalidated(note("2", ExpirationType.NEVER), localNoteCache.epoch());
+
+        localNoteCache.onMessage(
+                new DefaultMessage(
+                        CHANNEL.getBytes(StandardCharsets.UTF_8),
+                        "1\n2".getBytes(StandardCharsets.UTF_8)
+                ),
+                null
+        );
+
+        assertTrue(localNoteCache.get("1").isEmpty());
+        assertTrue(localNoteCache.get("2").isEmpty());
+    }
+
+    @Test
+    void invalidationsAreTrackedUntilClosed() {
+        LocalNoteCache.Invalidations invalidations = localNoteCache.trackInvalidations();
+
+        localNoteCache.evict("1");
+        invalidations.close();
+        localNoteCache.evict("2");
+
+        assertTrue(invalidations.contains("1"));
+        assertFalse(invalidations.contains("2"));
+    }
+}
@@ -10,12 +10,15 @@ import vstu.isd.notebin.config.TestContainersConfig;
 import vstu.isd.notebin.entity.ExpirationType;
 import vstu.isd.notebin.entity.Note;
 import vstu.isd.notebin.entity.NoteCacheable;
+import vstu.isd.notebin.entity.ViewNote;
 import vstu.isd.notebin.mapper.NoteMapper;
 import vstu.isd.notebin.repository.NoteRepository;
+import vstu.isd.notebin.repository.ViewNoteRepository;
 import vstu.isd.notebin.testutils.ClearableTest;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -33,6 +36,8 @@ public class NoteCacheHeaterTest extends ClearableTest {
     private NoteCacheHeater noteCacheHeater;
     @Autowired
     private NoteMapper noteMapper;
+    @Autowired
+    private ViewNoteRepository viewNoteRepository;
     private final int PAGE_SIZE = 20;
 
     @Test
@@ -140,4 +145,71 @@ public class NoteCacheHeaterTest extends ClearableTest {
                 .collect(Collectors.toList());
         assertEquals(exp, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void mostViewedAvailableNotesAreFirst() {
+
+        Note rarelyViewed = noteRepository.save(heaterNote("1", ExpirationType.NEVER, true));
+        Note notViewed = noteRepository.save(heaterNote("2", ExpirationType.NEVER, true));
+        Note oftenViewed = noteRepository.save(heaterNote("3", ExpirationType.BURN_AFTER_READ, true));
+        Note unavailable = noteRepository.save(heaterNote("4", ExpirationType.NEVER, false));
+        Note expired = noteRepository.save(heaterNote("5", ExpirationType.BURN_BY_PERIOD, true).toBuilder()
+                .expirationPeriod(Duration.ofMinutes(1))
+                .expirationFrom(LocalDateTime.now().minusHours(1))
+                .build());
+        saveViews(rarelyViewed, 2, LocalDateTime.now());
+        saveViews(oftenViewed, 15, LocalDateTime.now());
+        saveViews(unavailable, 100, LocalDateTime.now());
+        saveViews(expired, 100, LocalDateTime.now());
+
+
+        List<NoteCacheable> actual = noteCacheHeater.getMostUsedNotes(10);
+
+
+        List<NoteCacheable> exp = List.of(
+                noteMapper.toCacheable(oftenViewed),
+                noteMapper.toCacheable(rarelyViewed),
+                noteMapper.toCacheable(notViewed)
+        );
+        assertEquals(exp, actual);
+    }
+
+    @Test
+    void viewsBeforePopularityWindowAreNotCounted() {
+
+        Note viewedLongAgo = noteRepository.save(heaterNote("1", ExpirationType.NEVER, true));
+        Note viewedRecently = noteRepository.save(heaterNote("2", ExpirationType.NEVER, true));
+        Note notViewed = noteRepository.save(heaterNote("3", ExpirationType.NEVER, true));
+        saveViews(viewedLongAgo, 100, LocalDateTime.now().minusDays(30));
+        saveViews(viewedRecently, 1, LocalDateTime.now());
+
+
+        List<NoteCacheable> actual = noteCacheHeater.getMostUsedNotes(2);
+
+
+        List<NoteCacheable> exp = List.of(
+                noteMapper.toCacheable(viewedRecently),
+                noteMapper.toCacheable(viewedLongAgo)
+        );
+        assertEquals(exp, actual);
+    }
+
+    private void saveViews(Note note, int count, LocalDateTime viewedAt) {
+        List<ViewNote> views = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            views.add(ViewNote.builder().noteId(note.getId()).viewedAt(viewedAt).build());
+        }
+        viewNoteRepository.saveAll(views);
+    }
+
+    private Note heaterNote(String url, ExpirationType expirationType, boolean isAvailable) {
+        return Note.builder()
+                .title("Title of note " + url)
+                .content("Content of note " + url)
+                .createdAt(LocalDateTime.now())
+                .url(url)
+                .expirationType(expirationType)
+                .isAvailable(isAvailable)
+                .build();
+    }
+}
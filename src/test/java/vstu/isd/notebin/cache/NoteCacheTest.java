@@ -0,0 +1,189 @@
+package vstu.isd.notebin.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import vstu.isd.notebin.cache.util.NoteFields;
+import vstu.isd.notebin.cache.util.NotePatch;
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.NoteCacheable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NoteCacheTest {
+
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(60);
+    private static final Duration TOMBSTONE_TTL = Duration.ofMinutes(1);
+
+    @Mock
+    private NoteStore store;
+    @Mock
+    private LocalNoteCache localCache;
+
+    private NoteCache noteCache;
+
+    @BeforeEach
+    void setUp() {
+        noteCache = new NoteCache(store, DEFAULT_TTL, TOMBSTONE_TTL, localCache, new SimpleMeterRegistry());
+    }
+
+    private NoteCacheable note(String url) {
+        return NoteCacheable.builder().url(url).isAvailable(true).expirationType(ExpirationType.NEVER).build();
+    }
+
+    private NoteCacheable noteExpiringIn(String url, Duration expiresIn) {
+        return NoteCacheable.builder()
+                .url(url)
+                .isAvailable(true)
+                .expirationType(ExpirationType.BURN_BY_PERIOD)
+                .expirationPeriod(Duration.ofDays(1))
+                .expirationFrom(LocalDateTime.now().plus(expiresIn).minusDays(1))
+                .build();
+    }
+
+    @Test
+    void getAllRequestsOnlyNotesAbsentInLocalCache() {
+        when(localCache.get(anyString())).thenReturn(Optional.empty());
+        when(localCache.get("1")).thenReturn(Optional.of(note("1")));
+        when(store.getAll(List.of("2", "3"))).thenReturn(Arrays.asList(note("2"), null));
+
+        Map<String, NoteCacheable> actual = noteCache.getAll(List.of("1", "2", "3"));
+
+        assertEquals(Map.of("1", note("1"), "2", note("2")), actual);
+        verify(store, times(1)).getAll(anyList());
+    }
+
+    @Test
+    void getAllDoesNotRequestRedisWhenAllNotesAreLocal() {
+        when(localCache.get(anyString())).thenAnswer(inv -> Optional.of(note(inv.getArgument(0))));
+
+        Map<String, NoteCacheable> actual = noteCache.getAll(List.of("1", "2"));
+
+        assertEquals(2, actual.size());
+        verify(store, never()).getAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void saveAllAppliesTTLOfEveryNote() {
+        List<NoteCacheable> notes = List.of(note("1"), note("2"));
+
+        noteCache.saveAll(notes, note -> note.getUrl().equals("1") ? Duration.ofSeconds(1) : null);
+        noteCache.saveAll(notes);
+
+        verify(store).saveAllIfAbsent(eq(notes), argThat((Function<NoteCacheable, Duration> ttl) ->
+                ttl.apply(note("1")).equals(Duration.ofSeconds(1)) && ttl.apply(note("2")) == null
+        ));
+        verify(store).saveAllIfAbsent(eq(notes), argThat((Function<NoteCacheable, Duration> ttl) ->
+                ttl.apply(note("1")).equals(DEFAULT_TTL)
+        ));
+    }
+
+    @Test
+    void saveAllOfNoNotesDoesNotRequestRedis() {
+        noteCache.saveAll(List.of());
+
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void deleteAllEvictsNotesFromLocalCache() {
+        when(store.deleteAll(List.of("1", "2"))).thenReturn(1L);
+
+        long deleted = noteCache.deleteAll(List.of("1", "2"));
+
+        assertEquals(1, deleted);
+        verify(localCache).evictAll(List.of("1", "2"));
+    }
+
+    @Test
+    void noteExpiringByPeriodIsSavedUntilItsExpiration() {
+        NoteCacheable note = noteExpiringIn("1", Duration.ofMinutes(10));
+
+        noteCache.save(note);
+
+        verify(store).saveIfAbsent(eq(note), argThat(ttl ->
+                ttl.compareTo(Duration.ofMinutes(9)) > 0 && ttl.compareTo(Duration.ofMinutes(10)) <= 0
+        ));
+    }
+
+    @Test
+    void ttlIsLimitedByDefaultAndTombstoneTTL() {
+        NoteCacheable burned = note("1").toBuilder().isAvailable(false).build();
+
+        assertEquals(DEFAULT_TTL, noteCache.ttlOf(noteExpiringIn("1", Duration.ofDays(1)), DEFAULT_TTL));
+        assertEquals(TOMBSTONE_TTL, noteCache.ttlOf(noteExpiringIn("1", Duration.ofMinutes(-1)), DEFAULT_TTL));
+        assertEquals(TOMBSTONE_TTL, noteCache.ttlOf(burned, DEFAULT_TTL));
+        assertEquals(DEFAULT_TTL, noteCache.ttlOf(note("1"), DEFAULT_TTL));
+    }
+
+    @Test
+    void readOfNoteExpiringByPeriodIsOneRequest() {
+        NoteCacheable note = noteExpiringIn("1", Duration.ofMinutes(10));
+        when(localCache.get("1")).thenReturn(Optional.empty());
+        when(store.getAndExpire("1", DEFAULT_TTL)).thenReturn(note);
+
+        noteCache.getAndExpire("1");
+
+        verify(store).getAndExpire("1", DEFAULT_TTL);
+        verifyNoMoreInteractions(store);
+    }
+
+    @Test
+    void readOfNoteWithoutExpirationKeepsDefaultTTL() {
+        when(localCache.get("1")).thenReturn(Optional.empty());
+        when(store.getAndExpire("1", DEFAULT_TTL)).thenReturn(note("1"));
+
+        noteCache.getAndExpire("1");
+
+        verify(store, never()).expire(any(), any());
+    }
+
+    @Test
+    void unavailableNoteIsSavedWithoutContent() {
+        NoteCacheable burned = note("1").toBuilder().content("content").isAvailable(false).build();
+
+        noteCache.save(burned);
+        noteCache.saveAll(List.of(burned));
+
+        NoteCacheable tombstone = burned.toBuilder().content(null).build();
+        verify(store).saveIfAbsent(tombstone, TOMBSTONE_TTL);
+        verify(store).saveAllIfAbsent(eq(List.of(tombstone)), any());
+    }
+
+    @Test
+    void noteMadeAvailableIsDeleted() {
+        NoteCacheable note = note("1");
+        when(store.patch(eq("1"), any())).thenReturn(new NoteCache.PatchResult(true, note));
+
+        noteCache.patch("1", new NotePatch(Map.of(), Map.of(NoteFields.AVAILABLE, true)));
+
+        verify(store).getAndDelete("1");
+        verify(store, never()).expire(any(), any());
+    }
+
+    @Test
+    void burnedNoteBecomesTombstone() {
+        NoteCacheable note = note("1");
+        NoteCacheable burned = note.toBuilder().isAvailable(false).build();
+        when(store.patch(eq("1"), any())).thenReturn(new NoteCache.PatchResult(true, burned));
+
+        noteCache.patch("1", NotePatch.burn(note));
+
+        verify(store).expire("1", TOMBSTONE_TTL);
+    }
+}
\ No newline at end of file
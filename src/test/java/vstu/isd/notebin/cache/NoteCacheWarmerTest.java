@@ -0,0 +1,162 @@
+package vstu.isd.notebin.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.util.unit.DataSize;
+import vstu.isd.notebin.entity.NoteCacheable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NoteCacheWarmerTest {
+
+    private static final int CAPACITY = 10;
+    private static final int CHUNK_SIZE = 4;
+
+    @Mock
+    private NoteCache noteCache;
+    @Mock
+    private NoteCacheHeater cacheHeater;
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private LocalNoteCache localCache;
+
+    @BeforeEach
+    void setUp() {
+        localCache = new LocalNoteCache(
+                stringRedisTemplate,
+                new ChannelTopic("note-invalidation"),
+                DataSize.ofMegabytes(1),
+                Duration.ofMinutes(1)
+        );
+    }
+
+    private NoteCacheWarmer warmer(int readyPercentage) {
+        return new NoteCacheWarmer(
+                noteCache,
+                cacheHeater,
+                localCache,
+                CAPACITY,
+                readyPercentage,
+                CHUNK_SIZE,
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private void heaterReturns(int notes) {
+        doAnswer(inv -> {
+            Consumer<List<NoteCacheable>> consumer = inv.getArgument(2);
+            List<NoteCacheable> all = IntStream.range(0, notes)
+                    .mapToObj(i -> NoteCacheable.builder().url(String.valueOf(i)).build())
+                    .toList();
+            for (int i = 0; i < all.size(); i += CHUNK_SIZE) {
+                consumer.accept(all.subList(i, Math.min(all.size(), i + CHUNK_SIZE)));
+            }
+            return null;
+        }).when(cacheHeater).forEachChunkOfMostUsedNotes(eq(CAPACITY), eq(CHUNK_SIZE), any(Consumer.class));
+    }
+
+    @Test
+    void notesAreSavedByChunks() {
+        heaterReturns(CAPACITY);
+        NoteCacheWarmer warmer = warmer(100);
+
+        warmer.warmUp();
+
+        verify(noteCache, times(3)).saveAll(anyCollection());
+        assertTrue(warmer.isReady());
+        assertEquals(Status.UP, warmer.health().getStatus());
+    }
+
+    @Test
+    void instanceIsNotReadyUntilPercentageIsWarmedUp() {
+        heaterReturns(CAPACITY);
+        NoteCacheWarmer warmer = warmer(50);
+        List<Boolean> readiness = new ArrayList<>();
+        doAnswer(inv -> readiness.add(warmer.isReady())).when(noteCache).saveAll(anyCollection());
+
+        assertEquals(Status.OUT_OF_SERVICE, warmer.health().getStatus());
+        warmer.warmUp();
+
+        assertEquals(List.of(false, false, true), readiness);
+    }
+
+    @Test
+    void instanceIsReadyAtOnceWhenServingWhileWarmingUp() {
+        NoteCacheWarmer warmer = warmer(0);
+
+        assertTrue(warmer.isReady());
+    }
+
+    @Test
+    void instanceIsReadyWhenLessNotesThanRequiredExist() {
+        heaterReturns(2);
+        NoteCacheWarmer warmer = warmer(100);
+
+        warmer.warmUp();
+
+        assertTrue(warmer.isReady());
+    }
+
+    @Test
+    void instanceIsReadyWhenWarmUpFails() {
+        doThrow(new IllegalStateException("Redis is down"))
+                .when(cacheHeater).forEachChunkOfMostUsedNotes(anyInt(), anyInt(), any());
+        NoteCacheWarmer warmer = warmer(100);
+
+        warmer.warmUp();
+
+        assertTrue(warmer.isReady());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void notesModifiedDuringWarmUpAreNotSaved() {
+        doAnswer(inv -> {
+            localCache.evict("1");
+            Consumer<List<NoteCacheable>> consumer = inv.getArgument(2);
+            consumer.accept(List.of(
+                    NoteCacheable.builder().url("1").build(),
+                    NoteCacheable.builder().url("2").build()
+            ));
+            return null;
+        }).when(cacheHeater).forEachChunkOfMostUsedNotes(eq(CAPACITY), eq(CHUNK_SIZE), any(Consumer.class));
+        NoteCacheWarmer warmer = warmer(100);
+
+        warmer.warmUp();
+
+        verify(noteCache).saveAll(List.of(NoteCacheable.builder().url("2").build()));
+    }
+
+    @Test
+    void notesModifiedWhileSavingAreDeleted() {
+        heaterReturns(2);
+        doAnswer(inv -> {
+            localCache.evict("1");
+            return null;
+        }).when(noteCache).saveAll(anyCollection());
+        NoteCacheWarmer warmer = warmer(100);
+
+        warmer.warmUp();
+
+        verify(noteCache).deleteAll(List.of("1"));
+        assertEquals(1, warmer.health().getDetails().get("warmedUp"));
+    }
+}
@@ -0,0 +1,116 @@
+package vstu.isd.notebin.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenVerificationCacheTest {
+
+    private static final String CHANNEL = "token-revocation";
+    private static final String TOKEN = "header.payload.signature";
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private TokenVerificationCache tokenVerificationCache;
+
+    @BeforeEach
+    void setUp() {
+        tokenVerificationCache = new TokenVerificationCache(
+                stringRedisTemplate,
+                new ChannelTopic(CHANNEL),
+                100,
+                Duration.ofMinutes(5),
+                Duration.ofSeconds(30)
+        );
+    }
+
+    @Test
+    void cachesVerifiedToken() {
+        Instant tokenExpiresAt = Instant.now().plus(Duration.ofMinutes(1));
+
+        tokenVerificationCache.putVerified(TOKEN, "1", tokenExpiresAt, tokenVerificationCache.epoch());
+
+        TokenVerificationCache.Verification actual = tokenVerificationCache.get(TOKEN).orElseThrow();
+        assertTrue(actual.isVerified());
+        assertEquals("1", actual.userId());
+        assertEquals(tokenExpiresAt, actual.expiresAt());
+    }
+
+    @Test
+    void ttlOfVerifiedTokenIsCapped() {
+        Instant tokenExpiresAt = Instant.now().plus(Duration.ofDays(1));
+
+        tokenVerificationCache.putVerified(TOKEN, "1", tokenExpiresAt, tokenVerificationCache.epoch());
+
+        Instant expiresAt = tokenVerificationCache.get(TOKEN).orElseThrow().expiresAt();
+        assertTrue(expiresAt.isBefore(Instant.now().plus(Duration.ofMinutes(5)).plusSeconds(1)));
+    }
+
+    @Test
+    void doesNotCacheExpiredToken() {
+        tokenVerificationCache.putVerified(
+                TOKEN,
+                "1",
+                Instant.now().minusSeconds(1),
+                tokenVerificationCache.epoch()
+        );
+
+        assertTrue(tokenVerificationCache.get(TOKEN).isEmpty());
+    }
+
+    @Test
+    void cachesRejectedToken() {
+        tokenVerificationCache.putRejected(TOKEN, tokenVerificationCache.epoch());
+
+        assertFalse(tokenVerificationCache.get(TOKEN).orElseThrow().isVerified());
+    }
+
+    @Test
+    void doesNotCacheTokenVerifiedBeforeRevocation() {
+        long epoch = tokenVerificationCache.epoch();
+
+        tokenVerificationCache.revoke(TOKEN);
+        tokenVerificationCache.putVerified(TOKEN, "1", null, epoch);
+
+        assertTrue(tokenVerificationCache.get(TOKEN).isEmpty());
+    }
+
+    @Test
+    void revokePublishesDigest() {
+        tokenVerificationCache.putVerified(TOKEN, "1", null, tokenVerificationCache.epoch());
+
+        tokenVerificationCache.revoke(TOKEN);
+
+        assertTrue(tokenVerificationCache.get(TOKEN).isEmpty());
+        verify(stringRedisTemplate).convertAndSend(CHANNEL, TokenVerificationCache.digest(TOKEN));
+    }
+
+    @Test
+    void revocationMessageEvictsToken() {
+        tokenVerificationCache.putVerified(TOKEN, "1", null, tokenVerificationCache.epoch());
+
+        tokenVerificationCache.onMessage(
+                new DefaultMessage(
+                        CHANNEL.getBytes(StandardCharsets.UTF_8),
+                        TokenVerificationCache.digest(TOKEN).getBytes(StandardCharsets.UTF_8)
+                ),
+                null
+        );
+
+        assertTrue(tokenVerificationCache.get(TOKEN).isEmpty());
+    }
+}
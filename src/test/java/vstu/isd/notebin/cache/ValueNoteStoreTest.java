@@ -0,0 +1,192 @@
+package vstu.isd.notebin.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.context.TestPropertySource;
+import vstu.isd.notebin.cache.util.BinaryNoteSerializer;
+import vstu.isd.notebin.cache.util.NotePatch;
+import vstu.isd.notebin.dto.UpdateNoteRequestDto;
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.NoteCacheable;
+import vstu.isd.notebin.testutils.ClearableTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static vstu.isd.notebin.testutils.TestAsserts.assertNoteCacheableEquals;
+
+@TestPropertySource(properties = "spring.note.cache-serializer=BINARY")
+public class ValueNoteStoreTest extends ClearableTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Autowired
+    private ValueNoteStore valueNoteStore;
+
+    @Autowired
+    private RedisTemplate<String, NoteCacheable> redisTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("noteSerializer")
+    private RedisSerializer<NoteCacheable> noteSerializer;
+
+    private long ttlOf(String url) {
+        return stringRedisTemplate.getExpire(url, TimeUnit.MILLISECONDS);
+    }
+
+    private NoteCacheable note(String url) {
+        return NoteCacheable.builder()
+                .url(url)
+                .id(Long.parseLong(url))
+                .title("title")
+                .content("content")
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123456000))
+                .isAvailable(true)
+                .expirationType(ExpirationType.BURN_AFTER_READ)
+                .userId(7L)
+                .build();
+    }
+
+    /**
+     * Store whose reads of a note are followed by a concurrent change of its title, {@code conflicts} times.
+     */
+    private ValueNoteStore storeWithConflicts(int conflicts) {
+        AtomicInteger remainingConflicts = new AtomicInteger(conflicts);
+        RedisSerializer<NoteCacheable> conflictingSerializer = new RedisSerializer<>() {
+            @Override
+            public byte[] serialize(NoteCacheable note) {
+                return noteSerializer.serialize(note);
+            }
+
+            @Override
+            public NoteCacheable deserialize(byte[] bytes) {
+                NoteCacheable note = noteSerializer.deserialize(bytes);
+                if (note != null && remainingConflicts.getAndDecrement() > 0) {
+                    redisTemplate.opsForValue().set(
+                            note.getUrl(),
+                            note.toBuilder().title("changed " + remainingConflicts.get()).build()
+                    );
+                }
+                return note;
+            }
+        };
+
+        return new ValueNoteStore(redisTemplate, stringRedisTemplate, objectMapper, conflictingSerializer);
+    }
+
+    @Test
+    void notesAreStoredInBinaryFormat() {
+        assertInstanceOf(BinaryNoteSerializer.class, noteSerializer);
+    }
+
+    @Test
+    void getAndExpireResetsTTLOfAvailableNote() {
+        valueNoteStore.saveIfAbsent(note("1"), Duration.ofSeconds(10));
+
+        assertNoteCacheableEquals(note("1"), valueNoteStore.getAndExpire("1", TTL));
+
+        assertTrue(ttlOf("1") > Duration.ofSeconds(10).toMillis());
+        assertNull(valueNoteStore.getAndExpire("2", TTL));
+    }
+
+    @Test
+    void getAndExpireKeepsTTLOfNoteBurningByPeriodOrUnavailable() {
+        NoteCacheable note = note("1").toBuilder()
+                .expirationType(ExpirationType.BURN_BY_PERIOD)
+                .expirationPeriod(Duration.ofMinutes(90))
+                .expirationFrom(LocalDateTime.now())
+                .build();
+        valueNoteStore.saveIfAbsent(note, Duration.ofSeconds(10));
+        NoteCacheable burned = note("2").toBuilder().isAvailable(false).build();
+        valueNoteStore.saveIfAbsent(burned, Duration.ofSeconds(10));
+
+        assertNoteCacheableEquals(note, valueNoteStore.getAndExpire("1", TTL));
+        assertNoteCacheableEquals(burned, valueNoteStore.getAndExpire("2", TTL));
+
+        assertTrue(ttlOf("1") <= Duration.ofSeconds(10).toMillis());
+        assertTrue(ttlOf("2") <= Duration.ofSeconds(10).toMillis());
+    }
+
+    @Test
+    void appliedPatchReplacesNote() {
+        NoteCacheable note = note("1");
+        valueNoteStore.saveIfAbsent(note, TTL);
+
+        NoteCache.PatchResult result = valueNoteStore.patch("1", NotePatch.burn(note));
+
+        NoteCacheable expected = note.toBuilder().isAvailable(false).content(null).build();
+        assertTrue(result.isApplied());
+        assertNoteCacheableEquals(expected, result.note());
+        assertNoteCacheableEquals(expected, valueNoteStore.get("1"));
+    }
+
+    @Test
+    void rejectedPatchKeepsNote() {
+        NoteCacheable note = note("1");
+        valueNoteStore.saveIfAbsent(note, TTL);
+
+        NotePatch patch = NotePatch.update(
+                UpdateNoteRequestDto.builder()
+                        .title("updated")
+                        .userId(8L)
+                        .build(),
+                LocalDateTime.now()
+        );
+        NoteCache.PatchResult result = valueNoteStore.patch("1", patch);
+
+        assertFalse(result.isApplied());
+        assertNoteCacheableEquals(note, result.note());
+        assertNoteCacheableEquals(note, valueNoteStore.get("1"));
+    }
+
+    @Test
+    void conflictingPatchIsAppliedToChangedNote() {
+        NoteCacheable note = note("1");
+        valueNoteStore.saveIfAbsent(note, TTL);
+
+        NoteCache.PatchResult result = storeWithConflicts(1).patch("1", NotePatch.burn(note));
+
+        NoteCacheable expected = note.toBuilder()
+                .title("changed 0")
+                .isAvailable(false)
+                .content(null)
+                .build();
+        assertTrue(result.isApplied());
+        assertNoteCacheableEquals(expected, result.note());
+        assertNoteCacheableEquals(expected, valueNoteStore.get("1"));
+    }
+
+    @Test
+    void patchConflictingOnEveryAttemptThrows() {
+        NoteCacheable note = note("1");
+        valueNoteStore.saveIfAbsent(note, TTL);
+
+        ValueNoteStore store = storeWithConflicts(Integer.MAX_VALUE);
+
+        assertThrows(OptimisticLockException.class, () -> store.patch("1", NotePatch.burn(note)));
+        assertTrue(valueNoteStore.get("1").isAvailable());
+    }
+
+    @Test
+    void patchOfAbsentNoteThrows() {
+        NotePatch patch = NotePatch.burn(note("1"));
+
+        assertThrows(NoSuchElementException.class, () -> valueNoteStore.patch("1", patch));
+    }
+}
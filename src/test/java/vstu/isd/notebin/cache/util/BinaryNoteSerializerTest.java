@@ -0,0 +1,94 @@
+package vstu.isd.notebin.cache.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import vstu.isd.notebin.config.RedisConfig;
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.NoteCacheable;
+import vstu.isd.notebin.util.ContentCompressor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static vstu.isd.notebin.testutils.TestAsserts.assertNoteCacheableEquals;
+
+public class BinaryNoteSerializerTest {
+
+    private final Jackson2JsonRedisSerializer<NoteCacheable> jsonSerializer =
+            new Jackson2JsonRedisSerializer<>(new RedisConfig().objectMapper(), NoteCacheable.class);
+
+    private final BinaryNoteSerializer serializer = new BinaryNoteSerializer(jsonSerializer, new ContentCompressor(64));
+
+    private NoteCacheable note() {
+        return NoteCacheable.builder()
+                .url("url")
+                .id(1L)
+                .title("title")
+                .content("content with ünïcödé")
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123456789))
+                .isAvailable(true)
+                .expirationType(ExpirationType.BURN_BY_PERIOD)
+                .expirationPeriod(Duration.ofMinutes(90).plusNanos(5))
+                .expirationFrom(LocalDateTime.of(1960, 1, 2, 3, 4))
+                .userId(-7L)
+                .build();
+    }
+
+    @Test
+    void noteIsRestored() {
+        NoteCacheable note = note();
+
+        assertNoteCacheableEquals(note, serializer.deserialize(serializer.serialize(note)));
+    }
+
+    @Test
+    void nullFieldsAreRestored() {
+        NoteCacheable note = NoteCacheable.builder()
+                .url("url")
+                .isAvailable(false)
+                .build();
+
+        NoteCacheable restored = serializer.deserialize(serializer.serialize(note));
+
+        assertNoteCacheableEquals(note, restored);
+        assertNull(restored.getContent());
+        assertNull(restored.getUserId());
+    }
+
+    @Test
+    void longContentIsCompressed() {
+        NoteCacheable note = note().toBuilder()
+                .content("Lorem ipsum dolor sit amet. ".repeat(100))
+                .build();
+
+        byte[] serialized = serializer.serialize(note);
+
+        assertTrue(serialized.length < note.getContent().length() / 4);
+        assertNoteCacheableEquals(note, serializer.deserialize(serialized));
+    }
+
+    @Test
+    void jsonNoteIsReadByFallback() {
+        NoteCacheable note = note();
+
+        assertNoteCacheableEquals(note, serializer.deserialize(jsonSerializer.serialize(note)));
+    }
+
+    @Test
+    void truncatedNoteIsNotRead() {
+        byte[] serialized = serializer.serialize(note());
+        byte[] truncated = Arrays.copyOf(serialized, serialized.length / 2);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(truncated));
+    }
+
+    @Test
+    void noteIsSmallerThanJson() {
+        NoteCacheable note = note();
+
+        assertTrue(serializer.serialize(note).length < jsonSerializer.serialize(note).length);
+    }
+}
@@ -0,0 +1,104 @@
+package vstu.isd.notebin.cache.util;
+
+import org.junit.jupiter.api.Test;
+import vstu.isd.notebin.dto.UpdateNoteRequestDto;
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.NoteCacheable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static vstu.isd.notebin.testutils.TestAsserts.assertNoteCacheableEquals;
+
+public class NoteFieldsTest {
+
+    private NoteCacheable note() {
+        return NoteCacheable.builder()
+                .url("url")
+                .id(1L)
+                .title("title")
+                .content("content")
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123456000))
+                .isAvailable(true)
+                .expirationType(ExpirationType.BURN_BY_PERIOD)
+                .expirationPeriod(Duration.ofMinutes(90))
+                .expirationFrom(LocalDateTime.of(2024, 1, 2, 3, 4))
+                .userId(7L)
+                .build();
+    }
+
+    @Test
+    void noteIsRestoredFromHash() {
+        NoteCacheable note = note();
+
+        assertNoteCacheableEquals(note, NoteFields.fromHash(NoteFields.toHash(note)));
+    }
+
+    @Test
+    void nullFieldsAreAbsentInHash() {
+        NoteCacheable note = note().toBuilder()
+                .expirationType(ExpirationType.NEVER)
+                .expirationPeriod(null)
+                .expirationFrom(null)
+                .userId(null)
+                .build();
+
+        Map<String, String> hash = NoteFields.toHash(note);
+
+        assertFalse(hash.containsKey(NoteFields.EXPIRATION_PERIOD));
+        assertFalse(hash.containsKey(NoteFields.EXPIRATION_FROM));
+        assertFalse(hash.containsKey(NoteFields.USER_ID));
+        assertNoteCacheableEquals(note, NoteFields.fromHash(hash));
+    }
+
+    @Test
+    void emptyHashIsAbsentNote() {
+        assertNull(NoteFields.fromHash(Map.of()));
+        assertNull(NoteFields.fromHashValues(NoteFields.METADATA, Collections.nCopies(NoteFields.METADATA.size(), null)));
+    }
+
+    @Test
+    void metadataIsRestoredWithoutContent() {
+        NoteCacheable note = note();
+        Map<String, String> hash = NoteFields.toHash(note);
+        List<String> values = NoteFields.METADATA.stream().map(hash::get).toList();
+
+        NoteCacheable preview = NoteFields.fromHashValues(NoteFields.METADATA, values);
+
+        assertNull(preview.getContent());
+        assertNoteCacheableEquals(note.toBuilder().content(null).build(), preview);
+    }
+
+    @Test
+    void patchValuesAreRepresentedAsInHash() {
+        NoteCacheable note = note();
+        Map<String, String> hash = NoteFields.toHash(note);
+
+        NotePatch burn = NotePatch.burn(note);
+
+        NoteFields.toHashValues(burn.expected()).forEach((field, value) -> assertEquals(hash.get(field), value));
+        Map<String, String> fields = NoteFields.toHashValues(burn.fields());
+        assertEquals(2, fields.size());
+        assertEquals("false", fields.get(NoteFields.AVAILABLE));
+        assertTrue(fields.containsKey(NoteFields.CONTENT));
+        assertNull(fields.get(NoteFields.CONTENT));
+    }
+
+    @Test
+    void updateClearsExpirationOfNeverExpiringNote() {
+        UpdateNoteRequestDto update = UpdateNoteRequestDto.builder()
+                .expirationType(ExpirationType.NEVER)
+                .userId(7L)
+                .build();
+
+        Map<String, String> fields = NoteFields.toHashValues(NotePatch.update(update, LocalDateTime.now()).fields());
+
+        assertEquals("NEVER", fields.get(NoteFields.EXPIRATION_TYPE));
+        assertTrue(fields.containsKey(NoteFields.EXPIRATION_FROM));
+        assertNull(fields.get(NoteFields.EXPIRATION_FROM));
+    }
+}
@@ -0,0 +1,144 @@
+package vstu.isd.notebin.cache.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentLoadsOfSameKeyAreCoalesced() throws Exception {
+        AtomicInteger loads = new AtomicInteger(0);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.load("url", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "note";
+            }, UnaryOperator.identity()));
+            awaitInFlight();
+
+            List<String> results = new CopyOnWriteArrayList<>();
+            List<Thread> followers = startWaitingFollowers(7, () -> results.add(
+                    singleFlight.load("url", () -> "loaded-" + loads.incrementAndGet(), v -> v + "-copy")
+            ));
+            release.countDown();
+
+            assertEquals("note", leader.get(10, TimeUnit.SECONDS));
+            join(followers);
+            assertEquals(Collections.nCopies(7, "note-copy"), results);
+            assertEquals(1, loads.get());
+            assertEquals(0, singleFlight.inFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void loaderFailureIsPropagatedToWaitingCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.load("url", () -> {
+                await(release);
+                throw new IllegalStateException("failed");
+            }, UnaryOperator.identity()));
+            awaitInFlight();
+
+            List<Throwable> failures = new CopyOnWriteArrayList<>();
+            List<Thread> followers = startWaitingFollowers(1, () -> {
+                try {
+                    singleFlight.load("url", () -> "note", UnaryOperator.identity());
+                } catch (IllegalStateException e) {
+                    failures.add(e);
+                }
+            });
+            release.countDown();
+
+            ExecutionException leaderException = assertThrows(
+                    ExecutionException.class,
+                    () -> leader.get(10, TimeUnit.SECONDS)
+            );
+            assertInstanceOf(IllegalStateException.class, leaderException.getCause());
+            join(followers);
+            assertEquals(1, failures.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void keyIsReleasedAfterLoad() {
+        AtomicInteger loads = new AtomicInteger(0);
+
+        singleFlight.load("url", () -> "note" + loads.incrementAndGet(), UnaryOperator.identity());
+        String second = singleFlight.load("url", () -> "note" + loads.incrementAndGet(), UnaryOperator.identity());
+
+        assertEquals("note2", second);
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void differentKeysAreLoadedIndependently() {
+        assertEquals("a", singleFlight.load("url-a", () -> "a", UnaryOperator.identity()));
+        assertEquals("b", singleFlight.load("url-b", () -> "b", UnaryOperator.identity()));
+    }
+
+    /**
+     * Starts the followers and waits until all of them are parked on the leader's load.
+     */
+    private static List<Thread> startWaitingFollowers(int count, Runnable follower) throws InterruptedException {
+        List<Thread> threads = IntStream.range(0, count)
+                .mapToObj(i -> new Thread(follower))
+                .toList();
+        threads.forEach(Thread::start);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!threads.stream().allMatch(t -> t.getState() == Thread.State.WAITING)) {
+            assertTrue(System.nanoTime() < deadline, "Followers are not waiting");
+            Thread.sleep(1);
+        }
+
+        return threads;
+    }
+
+    private static void join(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (singleFlight.inFlight() == 0) {
+            assertTrue(System.nanoTime() < deadline, "Load is not started");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
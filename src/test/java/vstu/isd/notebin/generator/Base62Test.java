@@ -0,0 +1,51 @@
+package vstu.isd.notebin.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Base62Test {
+
+    @Test
+    void encodeCommonValues() {
+        assertEquals("0", Base62.encode(0));
+        assertEquals("1z", Base62.encode(123));
+        assertEquals("E8xCUx4", Base62.encode(803407143574L));
+        assertEquals("AzL8n0Y58m7", Base62.encode(Long.MAX_VALUE));
+    }
+
+    @Test
+    void encodeIntoReusableBuffer() {
+        char[] buffer = new char[Base62.MAX_LENGTH];
+
+        int start = Base62.encode(803407143574L, buffer);
+        assertEquals("E8xCUx4", new String(buffer, start, Base62.MAX_LENGTH - start));
+
+        start = Base62.encode(123, buffer);
+        assertEquals("1z", new String(buffer, start, Base62.MAX_LENGTH - start));
+    }
+
+    @Test
+    void encodeNegativeValue() {
+        assertThrows(IllegalArgumentException.class, () -> Base62.encode(-1));
+    }
+
+    @Test
+    void decodeIsInverseOfEncode() {
+        LongStream.concat(
+                LongStream.rangeClosed(0, 10_000),
+                LongStream.of(916132831L, 916132832L, 803407143574L, Long.MAX_VALUE)
+        ).forEach(num -> assertEquals(num, Base62.decode(Base62.encode(num))));
+    }
+
+    @Test
+    void decodeInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> Base62.decode(""));
+        assertThrows(IllegalArgumentException.class, () -> Base62.decode("1-2"));
+        assertThrows(IllegalArgumentException.class, () -> Base62.decode("Ж"));
+        assertThrows(IllegalArgumentException.class, () -> Base62.decode("AzL8n0Y58m8"));
+        assertThrows(IllegalArgumentException.class, () -> Base62.decode("100000000000"));
+    }
+}
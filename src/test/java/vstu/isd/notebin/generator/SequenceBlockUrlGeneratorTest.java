@@ -0,0 +1,84 @@
+package vstu.isd.notebin.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import vstu.isd.notebin.repository.UniqueRangeRepository;
+import vstu.isd.notebin.repository.result.UniqueBlock;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SequenceBlockUrlGeneratorTest {
+    @Mock
+    UniqueRangeRepository repository;
+
+    @InjectMocks
+    SequenceBlockUrlGenerator urlGenerator;
+
+    @Test
+    void generateUrlsFromOneBlock() {
+        when(repository.getNextUniqueBlock()).thenReturn(new UniqueBlock(123, 3));
+
+        List<String> actual = Stream.generate(urlGenerator::generateUrl).limit(3).toList();
+
+        assertEquals(List.of("1z", "20", "21"), actual);
+        verify(repository, times(1)).getNextUniqueBlock();
+        verify(repository, never()).getNextUniqueRange(anyInt());
+    }
+
+    @Test
+    void reserveNextBlockWhenCurrentIsExhausted() {
+        when(repository.getNextUniqueBlock()).thenReturn(
+                new UniqueBlock(1, 2),
+                new UniqueBlock(62, 2)
+        );
+
+        List<String> actual = Stream.generate(urlGenerator::generateUrl).limit(4).toList();
+
+        assertEquals(List.of("1", "2", "10", "11"), actual);
+        verify(repository, times(2)).getNextUniqueBlock();
+    }
+
+    @Test
+    void concurrentGenerateUniqueUrls() {
+        AtomicLong sequence = new AtomicLong(1);
+        int blockSize = 100;
+        when(repository.getNextUniqueBlock()).thenAnswer(
+                inv -> new UniqueBlock(sequence.getAndAdd(blockSize), blockSize)
+        );
+
+        int tasksCount = 8;
+        int urlCountPerTask = 1000;
+        ExecutorService executors = Executors.newFixedThreadPool(tasksCount);
+        try {
+            List<CompletableFuture<List<String>>> futures = IntStream.range(0, tasksCount)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(
+                            () -> Stream.generate(urlGenerator::generateUrl).limit(urlCountPerTask).toList(),
+                            executors
+                    ))
+                    .toList();
+
+            Set<String> urls = new HashSet<>();
+            futures.forEach(f -> urls.addAll(f.join()));
+
+            assertEquals(tasksCount * urlCountPerTask, urls.size());
+            verify(repository, times(tasksCount * urlCountPerTask / blockSize)).getNextUniqueBlock();
+        } finally {
+            executors.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package vstu.isd.notebin.repository;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.Note;
+import vstu.isd.notebin.repository.result.NoteSummary;
+import vstu.isd.notebin.testutils.ClearableTest;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static vstu.isd.notebin.util.UtilFunc.localDateTimeAreEquals;
+
+class NoteRepositoryTest {
+
+    @Nested
+    class BurnTest extends ClearableTest {
+
+        @Autowired
+        private NoteRepository noteRepository;
+
+        private Note saveNote(String url, ExpirationType expirationType, LocalDateTime expirationFrom, Duration period) {
+            return noteRepository.save(Note.builder()
+                    .url(url)
+                    .title("title")
+                    .content("content")
+                    .createdAt(LocalDateTime.now().minusDays(1))
+                    .isAvailable(true)
+                    .expirationType(expirationType)
+                    .expirationFrom(expirationFrom)
+                    .expirationPeriod(period)
+                    .build()
+            );
+        }
+
+        private boolean isAvailable(String url) {
+            return noteRepository.findByUrl(url).orElseThrow().isAvailable();
+        }
+
+        @Test
+        void burnAfterReadNoteIsBurned() {
+            saveNote("1", ExpirationType.BURN_AFTER_READ, null, null);
+
+            assertEquals(1, noteRepository.burn("1", LocalDateTime.now()));
+            assertFalse(isAvailable("1"));
+        }
+
+        @Test
+        void expiredBurnByPeriodNoteIsBurned() {
+            saveNote("1", ExpirationType.BURN_BY_PERIOD, LocalDateTime.now().minusDays(1), Duration.ofMinutes(15));
+
+            assertEquals(1, noteRepository.burn("1", LocalDateTime.now()));
+            assertFalse(isAvailable("1"));
+        }
+
+        @Test
+        void unexpiredBurnByPeriodNoteIsNotBurned() {
+            saveNote("1", ExpirationType.BURN_BY_PERIOD, LocalDateTime.now(), Duration.ofHours(1));
+
+            assertEquals(0, noteRepository.burn("1", LocalDateTime.now()));
+            assertTrue(isAvailable("1"));
+        }
+
+        @Test
+        void burnedNoteIsNotBurnedAgain() {
+            saveNote("1", ExpirationType.BURN_AFTER_READ, null, null);
+            noteRepository.burn("1", LocalDateTime.now());
+
+            assertEquals(0, noteRepository.burn("1", LocalDateTime.now()));
+            assertFalse(isAvailable("1"));
+        }
+
+        @Test
+        void neverExpiringNoteIsNotBurned() {
+            saveNote("1", ExpirationType.NEVER, null, null);
+
+            assertEquals(0, noteRepository.burn("1", LocalDateTime.now()));
+            assertTrue(isAvailable("1"));
+        }
+
+        @Test
+        void absentNoteIsNotBurned() {
+            assertEquals(0, noteRepository.burn("1", LocalDateTime.now()));
+        }
+    }
+
+    @Nested
+    class ExpireAtTest extends ClearableTest {
+
+        @Autowired
+        private NoteRepository noteRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private LocalDateTime expireAtInDatabase(String url) {
+            Timestamp expireAt = jdbcTemplate.queryForObject(
+                    "select expire_at from note where url = ?",
+                    Timestamp.class,
+                    url
+            );
+            return expireAt != null ? expireAt.toLocalDateTime() : null;
+        }
+
+        @Test
+        void expireAtIsSetOnPersist() {
+            LocalDateTime expirationFrom = LocalDateTime.now();
+            noteRepository.save(Note.builder()
+                    .url("1")
+                    .title("title")
+                    .content("content")
+                    .createdAt(expirationFrom)
+                    .isAvailable(true)
+                    .expirationType(ExpirationType.BURN_BY_PERIOD)
+                    .expirationFrom(expirationFrom)
+                    .expirationPeriod(Duration.ofMinutes(15))
+                    .build()
+            );
+
+            assertTrue(localDateTimeAreEquals(expirationFrom.plusMinutes(15), expireAtInDatabase("1")));
+        }
+
+        @Test
+        void expireAtFollowsExpirationOnUpdate() {
+            LocalDateTime createdAt = LocalDateTime.now();
+            noteRepository.save(Note.builder()
+                    .url("1")
+                    .title("title")
+                    .content("content")
+                    .createdAt(createdAt)
+                    .isAvailable(true)
+                    .expirationType(ExpirationType.NEVER)
+                    .build()
+            );
+            assertNull(expireAtInDatabase("1"));
+
+            LocalDateTime expirationFrom = createdAt.plusMinutes(5);
+            noteRepository.updateWithLock("1", note -> {
+                note.setExpirationType(ExpirationType.BURN_BY_PERIOD);
+                note.setExpirationFrom(expirationFrom);
+                note.setExpirationPeriod(Duration.ofHours(1));
+                return note;
+            });
+            assertTrue(localDateTimeAreEquals(expirationFrom.plusHours(1), expireAtInDatabase("1")));
+
+            noteRepository.updateWithLock("1", note -> {
+                note.setExpirationType(ExpirationType.BURN_AFTER_READ);
+                note.setExpirationFrom(null);
+                note.setExpirationPeriod(null);
+                return note;
+            });
+            assertNull(expireAtInDatabase("1"));
+        }
+    }
+
+    @Nested
+    class SummaryTest extends ClearableTest {
+
+        @Autowired
+        private NoteRepository noteRepository;
+
+        @Test
+        void summaryIsProjectedWithConvertedFields() {
+            LocalDateTime createdAt = LocalDateTime.now();
+            Note note = noteRepository.save(Note.builder()
+                    .url("1")
+                    .title("title")
+                    .content("content")
+                    .createdAt(createdAt)
+                    .isAvailable(true)
+                    .expirationType(ExpirationType.BURN_BY_PERIOD)
+                    .expirationFrom(createdAt)
+                    .expirationPeriod(Duration.ofMinutes(90))
+                    .userId(7L)
+                    .build()
+            );
+            noteRepository.save(Note.builder()
+                    .url("2")
+                    .title("other")
+                    .content("content")
+                    .createdAt(createdAt)
+                    .isAvailable(true)
+                    .expirationType(ExpirationType.NEVER)
+                    .userId(8L)
+                    .build()
+            );
+
+            List<NoteSummary> summaries = noteRepository.findLatestSummariesByUserId(7L, PageRequest.of(0, 10));
+
+            assertEquals(1, summaries.size());
+            NoteSummary summary = summaries.get(0);
+            assertEquals(note.getId(), summary.getId());
+            assertEquals("1", summary.getUrl());
+            assertEquals("title", summary.getTitle());
+            assertTrue(localDateTimeAreEquals(createdAt, summary.getCreatedAt()));
+            assertTrue(summary.isAvailable());
+            assertEquals(ExpirationType.BURN_BY_PERIOD, summary.getExpirationType());
+            assertEquals(Duration.ofMinutes(90), summary.getExpirationPeriod());
+            assertTrue(localDateTimeAreEquals(createdAt, summary.getExpirationFrom()));
+        }
+
+        @Test
+        void summaryOfNoteWithoutPeriodHasNullPeriod() {
+            noteRepository.save(Note.builder()
+                    .url("1")
+                    .title("title")
+                    .content("content")
+                    .createdAt(LocalDateTime.now())
+                    .isAvailable(false)
+                    .expirationType(ExpirationType.NEVER)
+                    .userId(7L)
+                    .build()
+            );
+
+            NoteSummary summary = noteRepository.findSummariesByUserId(7L, PageRequest.of(0, 10))
+                    .getContent()
+                    .get(0);
+
+            assertFalse(summary.isAvailable());
+            assertNull(summary.getExpirationPeriod());
+            assertNull(summary.getExpirationFrom());
+        }
+    }
+}
@@ -7,12 +7,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
 import vstu.isd.notebin.config.TestContainersConfig;
 import vstu.isd.notebin.dto.*;
 import vstu.isd.notebin.entity.ExpirationType;
+import vstu.isd.notebin.entity.NoteViewCounter;
 import vstu.isd.notebin.entity.ViewNote;
+import vstu.isd.notebin.exception.ClientExceptionName;
+import vstu.isd.notebin.exception.GroupValidationException;
 import vstu.isd.notebin.mapper.NoteMapper;
 import vstu.isd.notebin.repository.NoteRepository;
+import vstu.isd.notebin.repository.NoteViewCounterRepository;
 import vstu.isd.notebin.repository.ViewNoteRepository;
 import vstu.isd.notebin.testutils.ClearableTest;
 
@@ -21,6 +26,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +52,18 @@ class AnalyticsServiceTest {
     @Autowired
     private NoteMapper noteMapper;
 
+    @Autowired
+    private NoteViewRecorder noteViewRecorder;
+
+    @Autowired
+    private NoteViewCounterRepository noteViewCounterRepository;
+
+    @Autowired
+    private int analyticsMaxUrls;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     private AtomicLong indexOfNote = new AtomicLong(0);
 
     private NoteDto addNextNoteToRepository() {
@@ -315,6 +333,7 @@ class AnalyticsServiceTest {
             noteService.getNote(new GetNoteRequestDto(noteDto.getUrl(), 3L));
             noteService.getNote(new GetNoteRequestDto(noteDto.getUrl(), 1L));
             noteService.getNote(new GetNoteRequestDto(noteDto.getUrl(), null));
+            noteViewRecorder.flush();
 
             List<String> urls = new LinkedList<>();
             urls.add(noteDto.getUrl());
@@ -327,6 +346,88 @@ class AnalyticsServiceTest {
 
             assertViewAnalyticsDtoEquals(expectedAnalytics, viewAnalyticsOfNotes.get(noteDto.getUrl()).get());
         }
+
+        @Test
+        void getViewAnalyticsOfTooManyUrls() {
+
+            List<String> urls = new LinkedList<>();
+            for (int i = 0; i <= analyticsMaxUrls; i++) {
+                urls.add(String.valueOf(i));
+            }
+
+            GroupValidationException thrown = assertThrows(
+                    GroupValidationException.class,
+                    () -> analyticsService.getNotesViewAnalytics(urls)
+            );
+
+            assertEquals(1, thrown.getExceptions().size());
+            assertEquals(ClientExceptionName.TOO_MANY_URLS, thrown.getExceptions().get(0).getExceptionName());
+        }
+
+        @Test
+        void getViewAnalyticsAfterRebuildOfCounters() {
+
+            NoteDto noteDto = addNextNoteToRepository();
+
+            analyticsService.createNoteView(new NoteViewRequestDto(noteDto.getId(), null));
+            analyticsService.createNoteView(new NoteViewRequestDto(noteDto.getId(), 1L));
+            analyticsService.createNoteView(new NoteViewRequestDto(noteDto.getId(), null));
+
+            noteViewCounterRepository.deleteAll();
+            analyticsService.rebuildViewCounters();
+
+            List<String> urls = new LinkedList<>();
+            urls.add(noteDto.getUrl());
+            Map<String, Optional<ViewAnalyticsDto>> viewAnalyticsOfNotes = analyticsService.getNotesViewAnalytics(urls);
+
+            ViewAnalyticsDto expectedAnalytics = ViewAnalyticsDto.builder()
+                    .userViews(1L)
+                    .anonymousViews(2L)
+                    .build();
+
+            assertViewAnalyticsDtoEquals(expectedAnalytics, viewAnalyticsOfNotes.get(noteDto.getUrl()).get());
+        }
+
+        @Test
+        void rebuildOfCountersResetsCountersWithoutViews() {
+
+            NoteDto viewedNote = addNextNoteToRepository();
+            NoteDto notViewedNote = addNextNoteToRepository();
+
+            analyticsService.createNoteView(new NoteViewRequestDto(viewedNote.getId(), null));
+            noteViewCounterRepository.save(new NoteViewCounter(viewedNote.getId(), 3L, 4L));
+            noteViewCounterRepository.save(new NoteViewCounter(notViewedNote.getId(), 1L, 2L));
+
+            analyticsService.rebuildViewCounters();
+
+            NoteViewCounter viewedCounter = noteViewCounterRepository.findById(viewedNote.getId()).get();
+            assertEquals(0L, viewedCounter.getUserViews());
+            assertEquals(1L, viewedCounter.getAnonymousViews());
+
+            NoteViewCounter notViewedCounter = noteViewCounterRepository.findById(notViewedNote.getId()).get();
+            assertEquals(0L, notViewedCounter.getUserViews());
+            assertEquals(0L, notViewedCounter.getAnonymousViews());
+        }
+
+        @Test
+        void rebuildOfCountersIsSkippedWhileRebuiltByAnotherInstance() {
+
+            NoteDto noteDto = addNextNoteToRepository();
+
+            analyticsService.createNoteView(new NoteViewRequestDto(noteDto.getId(), null));
+            noteViewCounterRepository.deleteAll();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                assertTrue(noteViewCounterRepository.tryLockRebuild());
+                CompletableFuture.runAsync(analyticsService::rebuildViewCounters).join();
+            });
+
+            assertTrue(noteViewCounterRepository.findById(noteDto.getId()).isEmpty());
+
+            analyticsService.rebuildViewCounters();
+
+            assertTrue(noteViewCounterRepository.findById(noteDto.getId()).isPresent());
+        }
     }
 
     @Nested
@@ -0,0 +1,67 @@
+package vstu.isd.notebin.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import vstu.isd.notebin.cache.NoteCache;
+import vstu.isd.notebin.repository.NoteRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NoteExpirationSweeperTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private NoteRepository noteRepository;
+    @Mock
+    private NoteCache noteCache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NoteExpirationSweeper sweeper() {
+        return new NoteExpirationSweeper(noteRepository, noteCache, BATCH_SIZE, meterRegistry);
+    }
+
+    @Test
+    void batchesAreSweptUntilNotFull() {
+        when(noteRepository.burnExpired(BATCH_SIZE))
+                .thenReturn(List.of("a", "b"))
+                .thenReturn(List.of("c"));
+
+        assertEquals(3, sweeper().sweep());
+
+        verify(noteRepository, times(2)).burnExpired(BATCH_SIZE);
+        verify(noteCache).deleteAll(List.of("a", "b"));
+        verify(noteCache).deleteAll(List.of("c"));
+        assertEquals(3, meterRegistry.counter("notebin.note.expiration.swept").count());
+    }
+
+    @Test
+    void cacheIsNotTouchedWithoutExpiredNotes() {
+        when(noteRepository.burnExpired(BATCH_SIZE)).thenReturn(List.of());
+
+        assertEquals(0, sweeper().sweep());
+
+        verify(noteCache, never()).deleteAll(any());
+    }
+
+    @Test
+    void failedEvictionDoesNotStopSweep() {
+        when(noteRepository.burnExpired(BATCH_SIZE))
+                .thenReturn(List.of("a", "b"))
+                .thenReturn(List.of());
+        when(noteCache.deleteAll(List.of("a", "b"))).thenThrow(new IllegalStateException("redis is down"));
+
+        assertEquals(2, sweeper().sweep());
+
+        verify(noteRepository, times(2)).burnExpired(BATCH_SIZE);
+    }
+}
@@ -54,6 +54,8 @@ public class NoteServiceTest {
     @Autowired
     private NoteMapper noteMapper;
     @Autowired
+    private NoteViewRecorder noteViewRecorder;
+    @Autowired
     private int contentLength;
 
     private static final int CPU_COUNT = Runtime.getRuntime().availableProcessors();
@@ -2019,6 +2021,7 @@ public class NoteServiceTest {
             NoteCacheable actualCacheNote = noteCache.get(REQUESTED_NOTE_URL).get();
             NoteCacheable expectedCacheNote = persistedCacheNote.toBuilder()
                     .isAvailable(false)
+                    .content(null)
                     .build();
 
             assertEquals(expectedCacheNote, actualCacheNote);
@@ -2105,6 +2108,7 @@ public class NoteServiceTest {
             NoteCacheable actualCacheNote = noteCache.get(REQUESTED_NOTE_URL).get();
             NoteCacheable expectedCacheNote = persistedCacheNote.toBuilder()
                     .isAvailable(false)
+                    .content(null)
                     .build();
 
             assertEquals(expectedCacheNote, actualCacheNote);
@@ -2160,6 +2164,7 @@ public class NoteServiceTest {
             NoteCacheable actualCacheNote = noteCache.get(REQUESTED_NOTE_URL).get();
             NoteCacheable expectedCacheNote = persistedCacheNote.toBuilder()
                     .isAvailable(false)
+                    .content(null)
                     .build();
 
             assertEquals(expectedCacheNote, actualCacheNote);
@@ -2225,6 +2230,7 @@ public class NoteServiceTest {
             NoteCacheable actualCacheNote = noteCache.get(REQUESTED_NOTE_URL).get();
             NoteCacheable expectedCacheNote = persistedCacheNote.toBuilder()
                     .isAvailable(false)
+                    .content(null)
                     .build();
 
             assertEquals(expectedCacheNote, actualCacheNote);
@@ -2301,7 +2307,7 @@ public class NoteServiceTest {
             verify(noteRepository, times(1)).save(persistedRepoNote);
 
             verify(noteCache, times(CPU_COUNT)).getAndExpire(REQUESTED_NOTE_URL);
-            verify(noteCache, never()).update(any(), any());
+            verify(noteCache, never()).patch(any(), any());
             verify(noteRepository, never()).findByUrl(REQUESTED_NOTE_URL);
         }
 
@@ -2354,9 +2360,11 @@ public class NoteServiceTest {
             verify(noteCache, times(1)).save(expectedNoteCacheable);
             assertEquals(expectedNoteCacheable, actualNoteCacheable);
 
+            noteViewRecorder.flush();
             long noteViewsBefore = viewNoteRepository.count();
 
             noteService.getNote(new GetNoteRequestDto(REQUESTED_NOTE_URL, null));
+            noteViewRecorder.flush();
 
             long noteViewsAfter = viewNoteRepository.count();
 
@@ -2394,7 +2402,7 @@ public class NoteServiceTest {
                     .expirationType(ExpirationType.BURN_AFTER_READ)
                     .createdAt(now)
                     .expirationFrom(null)
-                    .userId(getNextUserId())
+                    .userId(persistedRepoNote.getUserId())
                     .build();
             noteCache.save(persistedCacheNote);
 
@@ -2415,6 +2423,7 @@ public class NoteServiceTest {
 
             assertNoteDtoEquals(expectedNote, actualNote);
 
+            noteViewRecorder.flush();
             long noteViewsAfter = viewNoteRepository.count();
 
             assertEquals(noteViewsBefore + 1, noteViewsAfter);
@@ -2430,6 +2439,7 @@ public class NoteServiceTest {
             NoteCacheable actualCacheNote = noteCache.get(REQUESTED_NOTE_URL).get();
             NoteCacheable expectedCacheNote = persistedCacheNote.toBuilder()
                     .isAvailable(false)
+                    .content(null)
                     .build();
 
             assertEquals(expectedCacheNote, actualCacheNote);
@@ -2783,7 +2793,7 @@ public class NoteServiceTest {
                     () -> noteService.getNotePreview(url)
             );
 
-            NoteCacheable expectedCachedNote = noteMapper.toCacheable(note);
+            NoteCacheable expectedCachedNote = noteMapper.toCacheable(note).toBuilder().content(null).build();
             NoteCacheable actualCachedNote = noteCache.get(note.getUrl()).get();
 
             assertNoteCacheableEquals(expectedCachedNote, actualCachedNote);
@@ -2877,4 +2887,122 @@ public class NoteServiceTest {
             );
         }
     }
+
+    @Nested
+    class GetUserNotesByCursorTest extends ClearableTest {
+
+        @Autowired
+        private int notePageSize;
+
+        private Note saveNoteOfUser(long userId, String url, LocalDateTime createdAt) {
+            return noteRepository.save(Note.builder()
+                    .url(url)
+                    .title("title " + url)
+                    .content("content")
+                    .createdAt(createdAt)
+                    .isAvailable(true)
+                    .expirationType(ExpirationType.NEVER)
+                    .userId(userId)
+                    .build()
+            );
+        }
+
+        private PageResponseDto<NoteSummaryDto> getPage(long userId, String cursor) {
+            return noteService.getUserNotes(new GetUserNotesRequestDto(userId, 0, cursor)).getPage();
+        }
+
+        /**
+         * @return urls of all notes of the user listed page by page
+         */
+        private List<String> walkAllPages(long userId) {
+            List<String> urls = new ArrayList<>();
+            String cursor = "";
+            do {
+                PageResponseDto<NoteSummaryDto> page = getPage(userId, cursor);
+                page.getContent().forEach(note -> urls.add(note.getUrl()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            return urls;
+        }
+
+        @Test
+        void walkingByNextCursorListsEveryNoteOnce() {
+            long userId = getNextUserId() + 1;
+            long otherUserId = getNextUserId() + 1;
+            LocalDateTime now = LocalDateTime.now();
+
+            List<String> expectedUrls = new ArrayList<>();
+            for (int i = 0; i < notePageSize * 2 + 3; i++) {
+                expectedUrls.add(saveNoteOfUser(userId, "u" + i, now.minusMinutes(i)).getUrl());
+                saveNoteOfUser(otherUserId, "o" + i, now.minusMinutes(i));
+            }
+
+            assertEquals(expectedUrls, walkAllPages(userId));
+        }
+
+        @Test
+        void notesCreatedAtSameTimeAreOrderedById() {
+            long userId = getNextUserId() + 1;
+            LocalDateTime createdAt = LocalDateTime.now();
+
+            List<String> expectedUrls = new ArrayList<>();
+            for (int i = 0; i < notePageSize + 2; i++) {
+                expectedUrls.add(saveNoteOfUser(userId, "u" + i, createdAt).getUrl());
+            }
+
+            assertEquals(expectedUrls, walkAllPages(userId));
+        }
+
+        @Test
+        void lastPageHasNoNextCursor() {
+            long userId = getNextUserId() + 1;
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < notePageSize; i++) {
+                saveNoteOfUser(userId, "u" + i, now.minusMinutes(i));
+            }
+
+            PageResponseDto<NoteSummaryDto> page = getPage(userId, "");
+
+            assertEquals(notePageSize, page.getContent().size());
+            assertNull(page.getNextCursor());
+            assertEquals(notePageSize, page.getTotalElements());
+            assertEquals(1, page.getTotalPages());
+        }
+
+        @Test
+        void totalsAreCountedOnlyForFirstPage() {
+            long userId = getNextUserId() + 1;
+            LocalDateTime now = LocalDateTime.now();
+            int notesCount = notePageSize + 1;
+            for (int i = 0; i < notesCount; i++) {
+                saveNoteOfUser(userId, "u" + i, now.minusMinutes(i));
+            }
+
+            PageResponseDto<NoteSummaryDto> firstPage = getPage(userId, "");
+            assertEquals(notesCount, firstPage.getTotalElements());
+            assertEquals(2, firstPage.getTotalPages());
+            assertNotNull(firstPage.getNextCursor());
+
+            PageResponseDto<NoteSummaryDto> secondPage = getPage(userId, firstPage.getNextCursor());
+            assertEquals(1, secondPage.getContent().size());
+            assertEquals(-1, secondPage.getTotalElements());
+            assertEquals(-1, secondPage.getTotalPages());
+            assertNull(secondPage.getNextCursor());
+        }
+
+        @Test
+        void malformedCursorIsRejected() {
+            long userId = getNextUserId() + 1;
+            String withoutSeparator = Base64.getUrlEncoder().encodeToString("2024-01-01T00:00".getBytes());
+
+            for (String cursor : List.of("not a cursor", withoutSeparator)) {
+                GroupValidationException exception = assertThrows(
+                        GroupValidationException.class,
+                        () -> getPage(userId, cursor)
+                );
+                assertEquals(1, exception.getExceptions().size());
+            }
+            verify(noteRepository, never()).findSummariesByUserIdAfter(any(), any(), anyLong(), any());
+        }
+    }
 }
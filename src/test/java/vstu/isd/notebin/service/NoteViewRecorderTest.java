@@ -0,0 +1,117 @@
+package vstu.isd.notebin.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mapstruct.factory.Mappers;
+import vstu.isd.notebin.dto.NoteViewRequestDto;
+import vstu.isd.notebin.entity.ViewNote;
+import vstu.isd.notebin.mapper.NoteMapper;
+import vstu.isd.notebin.repository.ViewNoteBatchRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NoteViewRecorderTest {
+
+    @Mock
+    private ViewNoteBatchRepository viewNoteBatchRepository;
+
+    private final NoteMapper noteMapper = Mappers.getMapper(NoteMapper.class);
+
+    private NoteViewRecorder recorder(
+            int capacity,
+            int batchSize,
+            NoteViewRecorder.ShutdownPolicy shutdownPolicy
+    ) {
+        return new NoteViewRecorder(
+                viewNoteBatchRepository,
+                noteMapper,
+                capacity,
+                batchSize,
+                NoteViewRecorder.OverflowPolicy.DROP,
+                Duration.ZERO,
+                shutdownPolicy
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<ViewNote>> writtenBatches(int times) {
+        ArgumentCaptor<List<ViewNote>> captor = ArgumentCaptor.forClass(List.class);
+        verify(viewNoteBatchRepository, times(times)).insertAllIfNotViewed(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @Test
+    void repeatedUserViewsAreMerged() {
+        NoteViewRecorder recorder = recorder(100, 100, NoteViewRecorder.ShutdownPolicy.FLUSH);
+
+        recorder.record(new NoteViewRequestDto(1L, 1L));
+        recorder.record(new NoteViewRequestDto(1L, 1L));
+        recorder.record(new NoteViewRequestDto(1L, 2L));
+        recorder.record(new NoteViewRequestDto(1L, null));
+        recorder.record(new NoteViewRequestDto(1L, null));
+        recorder.record(new NoteViewRequestDto(2L, 1L));
+
+        recorder.flush();
+
+        List<ViewNote> written = writtenBatches(1).get(0);
+        assertEquals(5, written.size());
+        assertEquals(2, written.stream().filter(v -> v.getUserId() == null).count());
+        assertEquals(0, recorder.bufferedViews());
+    }
+
+    @Test
+    void viewsAreWrittenInBatches() {
+        NoteViewRecorder recorder = recorder(100, 2, NoteViewRecorder.ShutdownPolicy.FLUSH);
+
+        for (int i = 0; i < 5; i++) {
+            recorder.record(new NoteViewRequestDto(1L, null));
+        }
+
+        recorder.flush();
+
+        List<List<ViewNote>> batches = writtenBatches(3);
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+    }
+
+    @Test
+    void viewsAreDroppedWhenBufferIsFull() {
+        NoteViewRecorder recorder = recorder(2, 100, NoteViewRecorder.ShutdownPolicy.FLUSH);
+
+        assertTrue(recorder.record(new NoteViewRequestDto(1L, null)));
+        assertTrue(recorder.record(new NoteViewRequestDto(1L, null)));
+        assertFalse(recorder.record(new NoteViewRequestDto(1L, null)));
+
+        assertEquals(2, recorder.bufferedViews());
+        assertEquals(1, recorder.droppedViews());
+    }
+
+    @Test
+    void bufferedViewsAreFlushedOnShutdown() {
+        NoteViewRecorder recorder = recorder(100, 100, NoteViewRecorder.ShutdownPolicy.FLUSH);
+        recorder.record(new NoteViewRequestDto(1L, null));
+
+        recorder.shutdown();
+
+        assertEquals(1, writtenBatches(1).get(0).size());
+    }
+
+    @Test
+    void bufferedViewsAreDroppedOnShutdown() {
+        NoteViewRecorder recorder = recorder(100, 100, NoteViewRecorder.ShutdownPolicy.DROP);
+        recorder.record(new NoteViewRequestDto(1L, null));
+
+        recorder.shutdown();
+
+        verify(viewNoteBatchRepository, never()).insertAllIfNotViewed(any());
+        assertEquals(1, recorder.droppedViews());
+    }
+}
@@ -5,8 +5,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.context.ContextConfiguration;
+import vstu.isd.notebin.cache.LocalNoteCache;
 import vstu.isd.notebin.config.TestContainersConfig;
 import vstu.isd.notebin.entity.NoteCacheable;
+import vstu.isd.notebin.service.NoteViewRecorder;
 
 import javax.sql.DataSource;
 import java.sql.SQLException;
@@ -19,11 +21,18 @@ public class ClearableTest {
     private RedisTemplate<String, NoteCacheable> redisTemplate;
     @Autowired
     private DataSource dataSource;
+    @Autowired
+    private LocalNoteCache localNoteCache;
+    @Autowired
+    private NoteViewRecorder noteViewRecorder;
 
     @BeforeEach
     public void setUp() {
         clearRedis();
+        // views buffered by the previous test mustn't be written during the next one
+        noteViewRecorder.flush();
         clearTables();
+        localNoteCache.evictAll();
     }
 
     private void clearRedis() {
@@ -0,0 +1,59 @@
+package vstu.isd.notebin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentCompressorTest {
+
+    private final ContentCompressor compressor = new ContentCompressor(64);
+
+    @Test
+    void shortContentIsPlain() {
+        byte[] encoded = compressor.encode("short content");
+
+        assertEquals(ContentCompressor.PLAIN, encoded[0]);
+        assertEquals("short content", compressor.decode(encoded));
+    }
+
+    @Test
+    void longContentIsDeflated() {
+        String content = "Lorem ipsum dolor sit amet, ünïcödé. ".repeat(100);
+
+        byte[] encoded = compressor.encode(content);
+
+        assertEquals(ContentCompressor.DEFLATE, encoded[0]);
+        assertTrue(encoded.length < content.length() / 4);
+        assertEquals(content, compressor.decode(encoded));
+    }
+
+    @Test
+    void incompressibleContentIsPlain() {
+        StringBuilder content = new StringBuilder();
+        for (char c = '!'; content.length() < 64; c++) {
+            content.append(c);
+        }
+
+        byte[] encoded = compressor.encode(content.toString());
+
+        assertEquals(ContentCompressor.PLAIN, encoded[0]);
+        assertEquals(content.toString(), compressor.decode(encoded));
+    }
+
+    @Test
+    void malformedContentIsNotDecoded() {
+        byte[] encoded = compressor.encode("Lorem ipsum dolor sit amet. ".repeat(100));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+
+        assertThrows(IllegalArgumentException.class, () -> compressor.decode(truncated));
+        assertThrows(IllegalArgumentException.class, () -> compressor.decode(new byte[]{7, 1, 2}));
+    }
+
+    @Test
+    void nullContentIsNull() {
+        assertNull(compressor.encode(null));
+        assertNull(compressor.decode(null));
+    }
+}
@@ -0,0 +1,33 @@
+package vstu.isd.notebin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NoteCursorTest {
+
+    @Test
+    void cursorIsRestored() {
+        NoteCursor cursor = new NoteCursor(LocalDateTime.of(2025, 1, 16, 19, 51, 30, 708584000), 42);
+
+        assertEquals(cursor, NoteCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String encoded = new NoteCursor(LocalDateTime.of(2025, 1, 16, 19, 51), Long.MAX_VALUE).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void malformedCursorIsNotDecoded() {
+        assertThrows(IllegalArgumentException.class, () -> NoteCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> NoteCursor.decode("bm90IGEgY3Vyc29y"));
+        assertThrows(IllegalArgumentException.class, () -> NoteCursor.decode(
+                new NoteCursor(LocalDateTime.now(), 1).encode().substring(3)
+        ));
+    }
+}